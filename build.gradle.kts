@@ -3,6 +3,7 @@ plugins {
     id("io.freefair.lombok") version "8.11"
     id("com.github.johnrengelman.shadow") version "8.1.1"
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.mongenscave"
@@ -27,6 +28,10 @@ repositories {
 dependencies {
     compileOnly("io.papermc.paper:paper-api:1.21.4-R0.1-SNAPSHOT")
     compileOnly("org.projectlombok:lombok:1.18.36")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 java {
@@ -35,6 +40,20 @@ java {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.set(listOf("-Xms2g", "-Xmx4g"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
 tasks.javadoc {
     options.encoding = "UTF-8"
     (options as StandardJavadocDocletOptions).addStringOption("Xdoclint:none", "-quiet")
@@ -77,4 +96,5 @@ publishing {
 
 tasks.register("deployApi") {
     dependsOn("apiJar", "publishApiJarPublicationToMonGens-CaveRepository")
+    dependsOn(":processor:processorJar", ":processor:publishProcessorJarPublicationToMonGens-CaveRepository")
 }
\ No newline at end of file
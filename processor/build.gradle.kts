@@ -0,0 +1,60 @@
+plugins {
+    id("java")
+    id("maven-publish")
+}
+
+group = "com.mongenscave"
+version = rootProject.version
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(rootProject)
+    compileOnly("org.jetbrains:annotations:24.1.0")
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+// The processor runs the API's own parser, so the jar carries the API classes and works on its own
+// as an annotationProcessor dependency
+val processorJar = tasks.register<Jar>("processorJar") {
+    archiveBaseName.set("mc-TimesAPI-processor")
+    archiveClassifier.set("")
+    archiveVersion.set(project.version.toString())
+
+    from(sourceSets.main.get().output)
+    from(rootProject.the<SourceSetContainer>()["main"].output) {
+        include("com/mongenscave/mctimesapi/**")
+    }
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("processorJar") {
+            artifact(processorJar.get()) {
+                classifier = null
+            }
+
+            groupId = "com.mongenscave"
+            artifactId = "mc-TimesAPI-processor"
+            version = project.version.toString()
+        }
+    }
+
+    repositories {
+        maven {
+            name = "MonGens-Cave"
+            url = uri("https://repo.mongenscave.com/releases")
+            credentials {
+                username = project.findProperty("mongensUsername") as String
+                password = project.findProperty("mongensPassword") as String
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.mongenscave.mctimesapi.codegen;
+
+import com.mongenscave.mctimesapi.annotations.Schedule;
+import com.mongenscave.mctimesapi.math.ScheduleCalendar;
+import com.mongenscave.mctimesapi.processor.ScheduleRegistrar;
+import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates every {@link Schedule} value with the runtime parser while compiling, so a malformed schedule
+ * fails the build instead of the plugin's startup. For each class with {@code @Schedule} methods it also generates
+ * a {@link ScheduleRegistrar} that binds the methods directly, which {@code registerScheduledClass} picks up
+ * instead of scanning the class.
+ * <p>
+ * Calendars used in {@code EXCEPT} clauses are only registered at runtime; list their names in the
+ * {@code timesapi.calendars} option, e.g. {@code -Atimesapi.calendars=HOLIDAYS,MAINTENANCE}.
+ * Classes with private {@code @Schedule} methods, and local or anonymous classes, are still validated
+ * but keep registering through reflection.
+ */
+@SupportedAnnotationTypes("com.mongenscave.mctimesapi.annotations.Schedule")
+@SupportedOptions(ScheduleAnnotationProcessor.CALENDARS_OPTION)
+public class ScheduleAnnotationProcessor extends AbstractProcessor {
+    static final String CALENDARS_OPTION = "timesapi.calendars";
+
+    private Messager messager;
+    private Elements elements;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.messager = processingEnv.getMessager();
+        this.elements = processingEnv.getElementUtils();
+
+        String calendars = processingEnv.getOptions().get(CALENDARS_OPTION);
+        if (calendars == null) return;
+
+        for (String name : calendars.split(",")) {
+            if (name.isBlank()) continue;
+
+            try {
+                ScheduleCalendar.register(name.trim(), List.of());
+            } catch (IllegalArgumentException exception) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Invalid " + CALENDARS_OPTION + " entry: " + exception.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<ExecutableElement>> methodsByType = new LinkedHashMap<>();
+        Map<TypeElement, Boolean> generatable = new LinkedHashMap<>();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Schedule.class)) {
+            ExecutableElement method = (ExecutableElement) element;
+            TypeElement type = (TypeElement) method.getEnclosingElement();
+
+            boolean valid = validate(method);
+            methodsByType.computeIfAbsent(type, ignored -> new ArrayList<>()).add(method);
+            generatable.merge(type, valid && isDirectlyCallable(method, type), Boolean::logicalAnd);
+        }
+
+        for (Map.Entry<TypeElement, List<ExecutableElement>> entry : methodsByType.entrySet()) {
+            if (generatable.get(entry.getKey())) generate(entry.getKey(), entry.getValue());
+        }
+
+        return false;
+    }
+
+    /**
+     * @return Whether the method can be registered at all; problems are reported as compile errors
+     */
+    private boolean validate(@NotNull ExecutableElement method) {
+        boolean valid = true;
+
+        if (!method.getParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Schedule methods must not take parameters", method);
+            valid = false;
+        }
+
+        String value = method.getAnnotation(Schedule.class).value();
+        try {
+            ScheduleParser.compile(value);
+        } catch (IllegalArgumentException exception) {
+            String hint = exception.getMessage().startsWith("Unknown calendar") ? "; calendars registered at runtime must be listed in -A" + CALENDARS_OPTION : "";
+            printValueError("Invalid schedule: " + exception.getMessage() + hint, method);
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    private boolean isDirectlyCallable(@NotNull ExecutableElement method, @NotNull TypeElement type) {
+        if (method.getModifiers().contains(Modifier.PRIVATE)) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "Private @Schedule method; " + type.getQualifiedName() + " is registered through reflection instead of generated code", method);
+            return false;
+        }
+
+        for (Element enclosing = type; enclosing instanceof TypeElement current; enclosing = enclosing.getEnclosingElement()) {
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS || current.getModifiers().contains(Modifier.PRIVATE)) {
+                messager.printMessage(Diagnostic.Kind.NOTE, type + " cannot be referenced from generated code and is registered through reflection", method);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void printValueError(@NotNull String message, @NotNull ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(Schedule.class.getName())) continue;
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, message, method, mirror, entry.getValue());
+                    return;
+                }
+            }
+        }
+
+        messager.printMessage(Diagnostic.Kind.ERROR, message, method);
+    }
+
+    private void generate(@NotNull TypeElement type, @NotNull List<ExecutableElement> methods) {
+        String binaryName = elements.getBinaryName(type).toString();
+        String registrarName = ScheduleRegistrar.nameFor(binaryName);
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String simpleName = registrarName.substring(registrarName.lastIndexOf('.') + 1);
+
+        String typeName = type.getQualifiedName().toString();
+        if (!type.getTypeParameters().isEmpty()) typeName += "<" + String.join(", ", Collections.nCopies(type.getTypeParameters().size(), "?")) + ">";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" implements com.mongenscave.mctimesapi.processor.ScheduleRegistrar<").append(typeName).append("> {\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<com.mongenscave.mctimesapi.models.ScheduleRequest> requests(").append(typeName).append(" instance, Object owner) {\n")
+                .append("        return java.util.List.of(");
+
+        for (int i = 0; i < methods.size(); i++) {
+            ExecutableElement method = methods.get(i);
+            Schedule schedule = method.getAnnotation(Schedule.class);
+
+            source.append(i > 0 ? "," : "").append("\n                com.mongenscave.mctimesapi.models.ScheduleRequest.builder()")
+                    .append("\n                        .scheduleString(").append(elements.getConstantExpression(schedule.value())).append(")")
+                    .append("\n                        .task(").append(task(type, method)).append(")")
+                    .append("\n                        .async(").append(schedule.async()).append(")")
+                    .append("\n                        .executionMode(com.mongenscave.mctimesapi.identifiers.ExecutionMode.").append(schedule.mode().name()).append(")")
+                    .append("\n                        .overlapPolicy(com.mongenscave.mctimesapi.identifiers.OverlapPolicy.").append(schedule.overlap().name()).append(")")
+                    .append("\n                        .tags(java.util.List.of(");
+
+            String[] tags = schedule.tags();
+            for (int tag = 0; tag < tags.length; tag++) source.append(tag > 0 ? ", " : "").append(elements.getConstantExpression(tags[tag]));
+
+            source.append("))")
+                    .append("\n                        .owner(owner)")
+                    .append("\n                        .build()");
+        }
+
+        source.append(");\n    }\n}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(registrarName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException exception) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + registrarName + ": " + exception.getMessage(), type);
+        }
+    }
+
+    /**
+     * A method reference, or a lambda rethrowing checked exceptions unchecked since {@link Runnable} cannot declare them
+     */
+    private static @NotNull String task(@NotNull TypeElement type, @NotNull ExecutableElement method) {
+        boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+        String target = isStatic ? type.getQualifiedName().toString() : "instance";
+        String name = method.getSimpleName().toString();
+
+        if (method.getThrownTypes().isEmpty()) return target + "::" + name;
+
+        return "() -> {\n"
+                + "                            try {\n"
+                + "                                " + target + "." + name + "();\n"
+                + "                            } catch (RuntimeException | Error exception) {\n"
+                + "                                throw exception;\n"
+                + "                            } catch (Throwable throwable) {\n"
+                + "                                throw new RuntimeException(throwable.getMessage(), throwable);\n"
+                + "                            }\n"
+                + "                        }";
+    }
+}
\ No newline at end of file
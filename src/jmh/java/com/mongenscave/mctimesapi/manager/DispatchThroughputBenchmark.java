@@ -0,0 +1,55 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every registered task is due on every step, so one invocation is a full dispatch cycle
+ * firing all of them, including rescheduling; divide the score by the task count for the per-firing cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DispatchThroughputBenchmark {
+    private static final long STEP = 60_000L;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+
+    private SchedulerManager manager;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        manager = new SchedulerManager();
+        now = System.currentTimeMillis();
+
+        List<ScheduleRequest> requests = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) requests.add(ScheduleRequest.of("EVERY 1 MINUTES", () -> {}));
+        manager.scheduleAll(requests).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public int dispatchAllDue() {
+        now += STEP;
+        return manager.dispatchDue(now);
+    }
+}
\ No newline at end of file
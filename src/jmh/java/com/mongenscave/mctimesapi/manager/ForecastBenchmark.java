@@ -0,0 +1,72 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.TimesAPI;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import com.mongenscave.mctimesapi.models.SchedulerSettings;
+import com.mongenscave.mctimesapi.simulation.VirtualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forecasting a week of firings across all active tasks, taking only the first firings of that week,
+ * and previewing a single schedule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForecastBenchmark {
+    private static final String[] SCHEDULES = {"EVERY 15 MINUTES", "EVERY 1 HOURS", "EVERYDAY @ 00:00", "WEEKDAYS @ 09:00", "CRON 0 */30 8-18 * * MON-FRI"};
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Param({"1000", "10000"})
+    public int taskCount;
+
+    private TimesAPI api;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SchedulerSettings settings = new SchedulerSettings();
+        settings.setClock(new VirtualClock(START, ZoneId.of("UTC")));
+        settings.setSpread(Duration.ofMinutes(5));
+        api = new TimesAPI(settings);
+
+        List<ScheduleRequest> requests = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) requests.add(ScheduleRequest.of(SCHEDULES[i % SCHEDULES.length], () -> {}));
+        api.scheduleAll(requests).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.shutdown();
+    }
+
+    @Benchmark
+    public long forecastWeek() {
+        return api.forecast(Duration.ofDays(7)).count();
+    }
+
+    @Benchmark
+    public long forecastFirstHundred() {
+        return api.forecast(Duration.ofDays(7)).limit(100).count();
+    }
+
+    @Benchmark
+    public long previewHundred() {
+        return api.preview("CRON 0 */30 8-18 * * MON-FRI", START, 100).count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares registering a batch through {@link SchedulerManager#scheduleAll} with one
+ * {@link SchedulerManager#scheduleTask} call per task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RegistrationBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int taskCount;
+
+    private SchedulerManager manager;
+    private List<ScheduleRequest> requests;
+
+    @Setup(Level.Trial)
+    public void prepareRequests() {
+        requests = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) requests.add(ScheduleRequest.of(i % 2 == 0 ? "EVERY 5 MINUTES" : "EVERYDAY @ 04:00", () -> {}));
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        manager = new SchedulerManager();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public List<ScheduleTask> scheduleAll() {
+        return manager.scheduleAll(requests).join();
+    }
+
+    @Benchmark
+    public int scheduleTaskPerCall() {
+        List<CompletableFuture<ScheduleTask>> futures = new ArrayList<>(taskCount);
+        for (ScheduleRequest request : requests) futures.add(manager.scheduleTask(request));
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return futures.size();
+    }
+}
\ No newline at end of file
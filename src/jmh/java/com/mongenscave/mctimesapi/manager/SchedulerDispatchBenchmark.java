@@ -0,0 +1,74 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@link SchedulerManager} dispatch directly with a synthetic clock, so no benchmark waits on wall-clock time.
+ * Registered tasks are daily tasks a year away; one interval task is due on every dispatch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SchedulerDispatchBenchmark {
+    private static final long STEP = 1_000L;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+
+    private SchedulerManager manager;
+    private List<Long> taskIds;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        manager = new SchedulerManager();
+        taskIds = new ArrayList<>(taskCount);
+        now = System.currentTimeMillis();
+
+        List<ScheduleRequest> requests = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) requests.add(ScheduleRequest.of("ONCE 2099-01-01 @ 00:00", () -> {}));
+
+        for (ScheduleTask task : manager.scheduleAll(requests).join()) taskIds.add(task.getId());
+        manager.register(new ScheduleTask("EVERY 1 SECONDS", ScheduleParser.compile("EVERY 1 SECONDS"), () -> {}, false), now);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public int dispatchSingleDueTask() {
+        now += STEP;
+        return manager.dispatchDue(now);
+    }
+
+    @Benchmark
+    public boolean cancelAndReschedule() {
+        int index = ThreadLocalRandom.current().nextInt(taskIds.size());
+        boolean cancelled = manager.cancelTask(taskIds.get(index));
+
+        ScheduleTask replacement = new ScheduleTask("ONCE 2099-01-01 @ 00:00", ScheduleParser.compile("ONCE 2099-01-01 @ 00:00"), () -> {}, false);
+        manager.register(replacement, now);
+        taskIds.set(index, replacement.getId());
+
+        return cancelled;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.mongenscave.mctimesapi.math;
+
+import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskCalculatorBenchmark {
+    @Param({
+            "DAILY:EVERYDAY @ 18:00",
+            "WEEKDAYS:WEEKDAYS @ 09:00",
+            "WEEKENDS:WEEKENDS @ 10:00",
+            "WEEKLY:EVERY SUN @ 14:30",
+            "MONTHLY:EVERY LAST FRI @ 17:00",
+            "INTERVAL:EVERY 30 MINUTES",
+            "ONCE:ONCE 2030-12-25 @ 00:00",
+            "RANGE:BETWEEN 09:00-17:00 EVERY HOUR",
+            "CRON:CRON 0 */15 9-17 * * MON-FRI",
+            "CRON_SPARSE:CRON 0 0 3 29 2 ?",
+            "COMPOUND:EVERYDAY @ 09:00 OR EVERY 2ND TUE @ 18:00 EXCEPT WEEKENDS"
+    })
+    public String schedule;
+
+    private final TaskCalculator calculator = new TaskCalculator();
+    private ScheduleMatcher matcher;
+    private long now;
+    private long previous;
+
+    @Setup
+    public void setup() {
+        matcher = ScheduleParser.compile(schedule.substring(schedule.indexOf(':') + 1));
+        now = CalendarMath.toMillis(LocalDateTime.of(2030, 3, 4, 12, 0));
+        previous = calculator.calculateNextExecution(matcher, now, ScheduleMatcher.NONE);
+    }
+
+    @Benchmark
+    public long nextFromPrimitive() {
+        return calculator.calculateNextExecution(matcher, now, previous);
+    }
+
+    @Benchmark
+    public LocalDateTime nextFromConfig() {
+        return calculator.calculateNextExecution(matcher.getConfig());
+    }
+}
\ No newline at end of file
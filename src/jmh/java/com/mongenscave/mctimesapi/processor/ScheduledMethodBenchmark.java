@@ -0,0 +1,69 @@
+package com.mongenscave.mctimesapi.processor;
+
+import com.mongenscave.mctimesapi.annotations.Schedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares firing a {@link Schedule} method through its generated invoker with {@link Method#invoke}
+ * and a hand-written lambda, and measures binding a new instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScheduledMethodBenchmark {
+    private final Target target = new Target();
+    private Method method;
+    private ScheduledMethod scheduledMethod;
+    private Runnable generated;
+    private Runnable lambda;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = Target.class.getDeclaredMethod("tick");
+        method.setAccessible(true);
+        scheduledMethod = ScheduledMethod.compile(method, method.getAnnotation(Schedule.class));
+        generated = scheduledMethod.bind(target);
+        lambda = target::tick;
+    }
+
+    @Benchmark
+    public long reflective() throws ReflectiveOperationException {
+        method.invoke(target);
+        return target.ticks;
+    }
+
+    @Benchmark
+    public long generated() {
+        generated.run();
+        return target.ticks;
+    }
+
+    @Benchmark
+    public long lambda() {
+        lambda.run();
+        return target.ticks;
+    }
+
+    @Benchmark
+    public Runnable bind() {
+        return scheduledMethod.bind(new Target());
+    }
+
+    static final class Target {
+        private long ticks;
+
+        @Schedule("EVERY 1 MINUTES")
+        private void tick() {
+            ticks++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.mongenscave.mctimesapi.simulation;
+
+import com.mongenscave.mctimesapi.TimesAPI;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import com.mongenscave.mctimesapi.models.SchedulerSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays one simulated day of mixed schedules on a {@link VirtualClock} per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimulationBenchmark {
+    private static final String[] SCHEDULES = {"EVERY 1 MINUTES", "EVERY 15 MINUTES", "EVERY 1 HOURS", "EVERYDAY @ 00:00", "WEEKDAYS @ 09:00"};
+
+    @Param({"1000", "10000"})
+    public int taskCount;
+
+    private TimesAPI api;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SchedulerSettings settings = new SchedulerSettings();
+        settings.setClock(new VirtualClock(Instant.parse("2030-01-01T00:00:00Z"), ZoneId.of("UTC")));
+        api = new TimesAPI(settings);
+
+        List<ScheduleRequest> requests = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) requests.add(ScheduleRequest.of(SCHEDULES[i % SCHEDULES.length], () -> {}));
+        api.scheduleAll(requests).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.shutdown();
+    }
+
+    @Benchmark
+    public long replayOneDay() {
+        return api.simulation().advanceBy(Duration.ofDays(1));
+    }
+}
\ No newline at end of file
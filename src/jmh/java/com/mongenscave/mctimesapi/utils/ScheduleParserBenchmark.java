@@ -0,0 +1,43 @@
+package com.mongenscave.mctimesapi.utils;
+
+import com.mongenscave.mctimesapi.models.ScheduleConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScheduleParserBenchmark {
+    @Param({
+            "EVERYDAY @ 18:00",
+            "WEEKDAYS @ 09:00",
+            "WEEKENDS @ 10:00",
+            "EVERY MON,WED,FRI @ 14:30",
+            "EVERY 15TH @ 12:00",
+            "EVERY LAST DAY @ 23:59",
+            "EVERY 1ST MON @ 10:00",
+            "EVERY LAST FRI @ 17:00",
+            "EVERY 30 MINUTES",
+            "EVERY 20 TICKS",
+            "ONCE 2030-12-25 @ 00:00",
+            "BETWEEN 09:00-17:00 EVERY HOUR"
+    })
+    public String scheduleString;
+
+    @Benchmark
+    public ScheduleConfig parseCached() {
+        return ScheduleParser.parse(scheduleString);
+    }
+
+    @Benchmark
+    public ScheduleConfig parseUncached() {
+        return ScheduleParser.parseUncached(scheduleString);
+    }
+}
\ No newline at end of file
@@ -1,12 +1,36 @@
 package com.mongenscave.mctimesapi;
 
+import com.mongenscave.mctimesapi.config.ScheduleReloader;
+import com.mongenscave.mctimesapi.identifiers.ScheduleType;
 import com.mongenscave.mctimesapi.manager.SchedulerManager;
+import com.mongenscave.mctimesapi.manager.TaskGroup;
+import com.mongenscave.mctimesapi.math.ScheduleCalendar;
+import com.mongenscave.mctimesapi.metrics.MetricsSnapshot;
+import com.mongenscave.mctimesapi.models.DeadLetter;
+import com.mongenscave.mctimesapi.models.Firing;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
 import com.mongenscave.mctimesapi.models.ScheduleTask;
+import com.mongenscave.mctimesapi.models.SchedulerSettings;
 import com.mongenscave.mctimesapi.processor.AnnotationProcessor;
+import com.mongenscave.mctimesapi.simulation.SimulationDriver;
+import com.mongenscave.mctimesapi.simulation.VirtualClock;
+import com.mongenscave.mctimesapi.stream.FiringStream;
+import com.mongenscave.mctimesapi.workflow.Workflow;
+import com.mongenscave.mctimesapi.workflow.WorkflowResult;
 import lombok.Getter;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * TimesAPI - Standalone scheduling library for any Java application
@@ -20,12 +44,23 @@ public class TimesAPI {
     private final SchedulerManager schedulerManager;
     private final AnnotationProcessor annotationProcessor;
     @Getter private boolean initialized;
+    private SimulationDriver simulationDriver;
+    private final List<ScheduleReloader> reloaders = new CopyOnWriteArrayList<>();
 
     /**
      * Create a new TimesAPI instance
      */
     public TimesAPI() {
-        this.schedulerManager = new SchedulerManager();
+        this(new SchedulerSettings());
+    }
+
+    /**
+     * Create a new TimesAPI instance with custom scheduler settings
+     *
+     * @param settings The scheduler settings (e.g., dispatch tolerance)
+     */
+    public TimesAPI(SchedulerSettings settings) {
+        this.schedulerManager = new SchedulerManager(settings);
         this.annotationProcessor = new AnnotationProcessor(schedulerManager);
         this.initialized = true;
     }
@@ -78,17 +113,194 @@ public class TimesAPI {
         return schedulerManager.scheduleTaskWithCallback(scheduleString, taskConsumer, true);
     }
 
+    /**
+     * Schedule a task described by a request, e.g. to attach tags
+     *
+     * @param request The task to register
+     * @return CompletableFuture for the scheduled task
+     */
+    public CompletableFuture<ScheduleTask> schedule(ScheduleRequest request) {
+        validateInitialization();
+        return schedulerManager.scheduleTask(request);
+    }
+
+    /**
+     * Schedule many tasks at once, e.g. when registering per-player or per-region tasks at startup
+     *
+     * @param requests The tasks to register
+     * @return A single CompletableFuture completing with the scheduled tasks in request order; tasks with no
+     * remaining deadline, e.g. a keyed one-time task that already fired, are left out
+     */
+    public CompletableFuture<List<ScheduleTask>> scheduleAll(Collection<ScheduleRequest> requests) {
+        validateInitialization();
+        return schedulerManager.scheduleAll(requests);
+    }
+
+    /**
+     * Fire a workflow of dependent steps on the given schedule. Independent steps run in parallel on the async executor
+     *
+     * @param scheduleString The schedule instruction (e.g., "EVERYDAY @ 04:00")
+     * @param workflow The workflow to run
+     * @return CompletableFuture for the task firing the workflow
+     */
+    public CompletableFuture<ScheduleTask> scheduleWorkflow(String scheduleString, Workflow workflow) {
+        validateInitialization();
+        return schedulerManager.scheduleWorkflow(scheduleString, workflow);
+    }
+
+    /**
+     * Run a workflow once, now
+     *
+     * @param workflow The workflow to run
+     * @return CompletableFuture for the run's result, or null if the previous run is still going
+     */
+    public CompletableFuture<WorkflowResult> runWorkflow(Workflow workflow) {
+        validateInitialization();
+        return schedulerManager.runWorkflow(workflow);
+    }
+
+    /**
+     * Publish the firings of a schedule to any number of subscribers. Calls with the same schedule string share
+     * one stream and one registered task
+     *
+     * @param scheduleString The schedule instruction (e.g., "EVERY 1 MINUTES")
+     * @return The stream, buffering up to {@link Flow#defaultBufferSize()} firings per subscriber
+     */
+    public FiringStream stream(String scheduleString) {
+        return stream(scheduleString, Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param bufferCapacity Firings buffered per subscriber before further ones are dropped
+     */
+    public FiringStream stream(String scheduleString, int bufferCapacity) {
+        validateInitialization();
+        return schedulerManager.stream(scheduleString, bufferCapacity);
+    }
+
     /**
      * Cancel a scheduled task by its ID
      *
      * @param taskId The task ID to cancel
      * @return true if the task was successfully cancelled
      */
+    public boolean cancelTask(long taskId) {
+        validateInitialization();
+        return schedulerManager.cancelTask(taskId);
+    }
+
+    /**
+     * Cancel a scheduled task by the string form of its ID
+     *
+     * @param taskId The task ID to cancel
+     * @return true if the task was successfully cancelled
+     * @deprecated Task IDs are {@code long}s; use {@link #cancelTask(long)}
+     */
+    @Deprecated
     public boolean cancelTask(String taskId) {
         validateInitialization();
         return schedulerManager.cancelTask(taskId);
     }
 
+    /**
+     * Cancel every task registered under an owner, e.g. on plugin unload or player logout
+     *
+     * @param owner The owner set at registration
+     * @return The number of cancelled tasks
+     */
+    public int cancelGroup(Object owner) {
+        validateInitialization();
+        return schedulerManager.cancelGroup(owner);
+    }
+
+    /**
+     * Get the handle for every active task registered under an owner
+     *
+     * @param owner The owner set at registration
+     * @return The group, or null if the owner has no active tasks
+     */
+    public TaskGroup getGroup(Object owner) {
+        validateInitialization();
+        return schedulerManager.getGroup(owner);
+    }
+
+    /**
+     * Cancel every task carrying the given tag
+     *
+     * @param tag The tag set at registration
+     * @return The number of cancelled tasks
+     */
+    public int cancelTag(String tag) {
+        validateInitialization();
+        return schedulerManager.cancelTag(tag);
+    }
+
+    /**
+     * Limit how many of an owner's virtual-thread executions may run at once
+     *
+     * @param owner The owner set at registration
+     * @param permits The concurrency limit, or 0 to remove it
+     */
+    public void setGroupConcurrency(Object owner, int permits) {
+        validateInitialization();
+        schedulerManager.setGroupConcurrency(owner, permits);
+    }
+
+    /**
+     * Spread the firings of an owner's tasks over a window, so they do not all fire in the same tick
+     *
+     * @param owner The owner set at registration
+     * @param window The spread window for tasks registered afterwards, or null to remove it
+     */
+    public void setGroupSpread(Object owner, Duration window) {
+        validateInitialization();
+        schedulerManager.setGroupSpread(owner, window);
+    }
+
+    /**
+     * Get an active task by its ID
+     *
+     * @param taskId The task ID
+     * @return The task, or null if it is not active
+     */
+    public ScheduleTask getTask(long taskId) {
+        validateInitialization();
+        return schedulerManager.getTask(taskId);
+    }
+
+    /**
+     * Get all active tasks registered with the given schedule string
+     *
+     * @param scheduleString The schedule instruction exactly as registered
+     * @return The matching tasks
+     */
+    public List<ScheduleTask> getTasksBySchedule(String scheduleString) {
+        validateInitialization();
+        return schedulerManager.getTasksBySchedule(scheduleString);
+    }
+
+    /**
+     * Get all active tasks carrying the given tag
+     *
+     * @param tag The tag set at registration
+     * @return The matching tasks
+     */
+    public List<ScheduleTask> getTasksByTag(String tag) {
+        validateInitialization();
+        return schedulerManager.getTasksByTag(tag);
+    }
+
+    /**
+     * Get all active tasks of the given schedule type
+     *
+     * @param type The schedule type
+     * @return The matching tasks
+     */
+    public List<ScheduleTask> getTasksByType(ScheduleType type) {
+        validateInitialization();
+        return schedulerManager.getTasksByType(type);
+    }
+
     /**
      * Get the number of currently active tasks
      *
@@ -100,7 +312,96 @@ public class TimesAPI {
     }
 
     /**
-     * Register a class instance with @Schedule annotated methods
+     * List the upcoming firings of a schedule string without registering it
+     *
+     * @param scheduleString The schedule instruction
+     * @param from The time the schedule is evaluated from, as if it were registered then
+     * @param count The maximum number of firings
+     * @return A lazily computed stream of firings in time order
+     */
+    public Stream<Firing> preview(String scheduleString, Instant from, int count) {
+        validateInitialization();
+        return schedulerManager.preview(scheduleString, from.toEpochMilli(), count);
+    }
+
+    /**
+     * List the firings of every active task within the given window from now, merged in time order,
+     * e.g. to find minutes where many tasks fire at once
+     *
+     * @param window How far ahead to look
+     * @return A lazily computed stream of firings in time order
+     */
+    public Stream<Firing> forecast(Duration window) {
+        validateInitialization();
+        return schedulerManager.forecast(schedulerManager.getClock().millis() + window.toMillis());
+    }
+
+    /**
+     * Get a point-in-time view of execution metrics: per-schedule lateness and duration percentiles,
+     * failure/skip/overlap counters, queue depth and worker pool utilization
+     *
+     * @return The metrics snapshot
+     */
+    public MetricsSnapshot getMetrics() {
+        validateInitialization();
+        return schedulerManager.getMetricsSnapshot();
+    }
+
+    /**
+     * Get the firings whose run and every retry failed, oldest first
+     *
+     * @return The dead letters, up to the configured capacity
+     */
+    public List<DeadLetter> getDeadLetters() {
+        validateInitialization();
+        return schedulerManager.getDeadLetters().getLetters();
+    }
+
+    /**
+     * Run a dead-lettered firing once more, now. If it fails again, the task's retry policy applies from the start
+     *
+     * @param id The dead letter's ID
+     * @return true if the dead letter existed
+     */
+    public boolean replayDeadLetter(long id) {
+        validateInitialization();
+        return schedulerManager.replayDeadLetter(id);
+    }
+
+    /**
+     * Replay every dead letter, oldest first
+     *
+     * @return The number of replayed firings
+     */
+    public int replayDeadLetters() {
+        validateInitialization();
+        return schedulerManager.replayDeadLetters();
+    }
+
+    /**
+     * Discard every dead letter
+     *
+     * @return The discarded dead letters
+     */
+    public List<DeadLetter> clearDeadLetters() {
+        validateInitialization();
+        return schedulerManager.getDeadLetters().drain();
+    }
+
+    /**
+     * Register or replace a named set of dates that schedules can exclude, e.g. {@code EVERYDAY @ 09:00 EXCEPT HOLIDAYS}.
+     * Calendars are shared by every scheduler, and replacing one updates the schedules already using it
+     *
+     * @param name Letters and underscores only
+     * @param dates The dates on which excluding schedules do not fire
+     */
+    public void registerCalendar(String name, Collection<LocalDate> dates) {
+        ScheduleCalendar.register(name, dates);
+    }
+
+    /**
+     * Register a class instance with @Schedule annotated methods.
+     * The tasks are grouped under the instance, so {@code cancelGroup(instance)} removes them all
      *
      * @param instance The instance containing @Schedule annotated methods
      */
@@ -109,11 +410,69 @@ public class TimesAPI {
         annotationProcessor.processScheduledMethods(instance);
     }
 
+    /**
+     * Register a class instance with @Schedule annotated methods, grouping the tasks under the given owner
+     *
+     * @param instance The instance containing @Schedule annotated methods
+     * @param owner The owner to group the tasks under, e.g. your plugin
+     */
+    public void registerScheduledClass(Object instance, Object owner) {
+        validateInitialization();
+        annotationProcessor.processScheduledMethods(instance, owner);
+    }
+
+    /**
+     * Register the tasks of a schedule file. Call {@code reload()} on the result to apply later edits;
+     * only tasks whose definition changed are touched
+     *
+     * @param file A YAML file with a {@code tasks} mapping, see {@link com.mongenscave.mctimesapi.config.ScheduleFile}
+     * @param actions What each task runs, by the name its {@code action} refers to
+     * @return The reloader owning the file's tasks; closing it cancels them
+     * @throws IllegalArgumentException if the file is invalid
+     */
+    public ScheduleReloader loadSchedules(Path file, Map<String, Runnable> actions) {
+        validateInitialization();
+
+        ScheduleReloader reloader = new ScheduleReloader(schedulerManager, file, actions, reloaders::remove);
+        reloader.reload();
+        reloaders.add(reloader);
+        return reloader;
+    }
+
+    /**
+     * Register the tasks of a schedule file and apply every later edit as soon as the file is saved
+     *
+     * @param file A YAML file with a {@code tasks} mapping
+     * @param actions What each task runs, by the name its {@code action} refers to
+     * @return The reloader owning the file's tasks; closing it stops watching and cancels them
+     * @throws IllegalArgumentException if the file is invalid
+     */
+    public ScheduleReloader watchSchedules(Path file, Map<String, Runnable> actions) {
+        ScheduleReloader reloader = loadSchedules(file, actions);
+        reloader.watch();
+        return reloader;
+    }
+
+    /**
+     * Get the driver that fast-forwards this instance's virtual clock.
+     * Only available when the instance was created with a {@link VirtualClock}.
+     *
+     * @return The simulation driver
+     */
+    public synchronized SimulationDriver simulation() {
+        validateInitialization();
+        if (!(schedulerManager.getClock() instanceof VirtualClock clock)) throw new IllegalStateException("TimesAPI is not running on a VirtualClock!");
+
+        if (simulationDriver == null) simulationDriver = new SimulationDriver(schedulerManager, clock);
+        return simulationDriver;
+    }
+
     /**
      * Shutdown the TimesAPI and clean up all resources
      * Call this when your application is shutting down
      */
     public void shutdown() {
+        reloaders.forEach(ScheduleReloader::close);
         schedulerManager.shutdown();
         initialized = false;
     }
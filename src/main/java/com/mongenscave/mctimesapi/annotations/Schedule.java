@@ -1,5 +1,8 @@
 package com.mongenscave.mctimesapi.annotations;
 
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -10,4 +13,7 @@ import java.lang.annotation.Target;
 public @interface Schedule {
     String value();
     boolean async() default false;
+    String[] tags() default {};
+    ExecutionMode mode() default ExecutionMode.DEFAULT;
+    OverlapPolicy overlap() default OverlapPolicy.DEFAULT;
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.mongenscave.mctimesapi.cluster;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which node of a cluster runs each global task. Every node registers the same tasks;
+ * ownership of each key is sharded across the live nodes with rendezvous hashing, so all nodes agree on the
+ * owner without talking to each other and only the keys of a joining or leaving node move.
+ * <p>
+ * The owner also holds a lease on the key before it runs the task. While nodes briefly disagree about
+ * membership, e.g. right after a node joined, the lease keeps a task from running twice; at worst
+ * a firing in that window is skipped. A node that dies stops heartbeating, drops out of the live set
+ * once its TTL passes, and its keys are claimed by the next owner.
+ */
+public final class ClusterCoordinator {
+    @Getter private final String nodeId;
+    @Getter private final Duration leaseTtl;
+    private final LeaseProvider provider;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private volatile Membership membership;
+
+    /**
+     * @param nodeId Unique, stable name of this node, e.g. the server name in the proxy config
+     * @param leaseTtl How long heartbeats and leases last; takeover after a crash takes up to this long
+     */
+    public ClusterCoordinator(@NotNull String nodeId, @NotNull LeaseProvider provider, @NotNull Duration leaseTtl) {
+        if (leaseTtl.toMillis() < 3) throw new IllegalArgumentException("Lease TTL is too short: " + leaseTtl);
+
+        this.nodeId = nodeId;
+        this.provider = provider;
+        this.leaseTtl = leaseTtl;
+        this.membership = new Membership(List.of(nodeId));
+    }
+
+    /**
+     * @return How often the scheduler renews this node's heartbeat and leases
+     */
+    public @NotNull Duration getHeartbeatInterval() {
+        return leaseTtl.dividedBy(3);
+    }
+
+    /**
+     * Renew this node's heartbeat, refresh the live node set and renew or hand over held leases.
+     * The scheduler calls this periodically; in simulation mode call it yourself.
+     */
+    public void heartbeat() {
+        try {
+            provider.heartbeat(nodeId, leaseTtl);
+
+            Set<String> nodes = new TreeSet<>(provider.getLiveNodes());
+            nodes.add(nodeId);
+            membership = new Membership(List.copyOf(nodes));
+
+            for (String key : held) {
+                if (!isOwner(key)) release(key);
+                else if (!provider.tryAcquire(key, nodeId, leaseTtl)) held.remove(key);
+            }
+        } catch (RuntimeException exception) {
+            System.err.println("Cluster heartbeat of node '" + nodeId + "' failed: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Check whether this node should run the task with the given key now, acquiring or extending its lease
+     *
+     * @return true if this node owns the key and holds its lease
+     */
+    public boolean claim(@NotNull String key) {
+        if (isOwner(key)) {
+            try {
+                if (provider.tryAcquire(key, nodeId, leaseTtl)) {
+                    held.add(key);
+                    claimed.incrementAndGet();
+                    return true;
+                }
+            } catch (RuntimeException exception) {
+                System.err.println("Failed to claim task '" + key + "' on node '" + nodeId + "': " + exception.getMessage());
+            }
+
+            held.remove(key);
+        } else if (held.contains(key)) {
+            release(key);
+        }
+
+        skipped.incrementAndGet();
+        return false;
+    }
+
+    public boolean isOwner(@NotNull String key) {
+        return membership.owner(key).equals(nodeId);
+    }
+
+    /**
+     * @return The node that runs the given key according to the last known membership
+     */
+    public @NotNull String getOwner(@NotNull String key) {
+        return membership.owner(key);
+    }
+
+    public @NotNull List<String> getLiveNodes() {
+        return membership.nodes();
+    }
+
+    /**
+     * @return Firings this node ran because it held the task's lease
+     */
+    public long getClaimed() {
+        return claimed.get();
+    }
+
+    /**
+     * @return Firings this node skipped because another node owns the task
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Release every lease and leave the cluster, so other nodes take over without waiting for the TTL
+     */
+    public void leave() {
+        try {
+            for (String key : held) release(key);
+            provider.leave(nodeId);
+        } catch (RuntimeException exception) {
+            System.err.println("Node '" + nodeId + "' failed to leave the cluster: " + exception.getMessage());
+        }
+
+        provider.close();
+    }
+
+    private void release(@NotNull String key) {
+        held.remove(key);
+        provider.release(key, nodeId);
+    }
+
+    private static long hash(@NotNull String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private record Membership(@NotNull List<String> nodes, long @NotNull [] hashes) {
+        private Membership(@NotNull List<String> nodes) {
+            this(nodes, nodes.stream().mapToLong(ClusterCoordinator::hash).toArray());
+        }
+
+        /**
+         * Rendezvous hashing: the node with the highest combined score wins. Ties go to the first node
+         * in sorted order, so every node picks the same owner for the same membership.
+         */
+        private @NotNull String owner(@NotNull String key) {
+            long keyHash = hash(key);
+            int best = 0;
+            long bestScore = Long.MIN_VALUE;
+
+            for (int i = 0; i < hashes.length; i++) {
+                long score = mix(keyHash ^ hashes[i]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+
+            return nodes.get(best);
+        }
+    }
+}
\ No newline at end of file
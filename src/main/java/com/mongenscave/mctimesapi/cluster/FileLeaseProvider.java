@@ -0,0 +1,182 @@
+package com.mongenscave.mctimesapi.cluster;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Lease provider backed by a directory, for nodes on one machine or on a shared file system.
+ * Every node and lease is a small file holding its holder and expiry; all reads and writes happen
+ * under an exclusive lock on {@code cluster.lock}, so separate processes see a consistent view.
+ * Several providers on the same directory within one JVM are also supported, e.g. to test a cluster in-process.
+ * Expiry is judged by the wall clock, so the clocks of all nodes must be roughly in sync.
+ */
+public final class FileLeaseProvider implements LeaseProvider {
+    private static final Map<Path, ReentrantLock> LOCAL_LOCKS = new ConcurrentHashMap<>();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Path nodes;
+    private final Path leases;
+    private final Clock clock;
+    private final ReentrantLock localLock;
+    private final FileChannel lockChannel;
+
+    public FileLeaseProvider(@NotNull Path directory) {
+        this(directory, Clock.systemUTC());
+    }
+
+    /**
+     * @throws UncheckedIOException if the directory cannot be created or locked
+     */
+    public FileLeaseProvider(@NotNull Path directory, @NotNull Clock clock) {
+        this.nodes = directory.resolve("nodes");
+        this.leases = directory.resolve("leases");
+        this.clock = clock;
+
+        try {
+            Files.createDirectories(nodes);
+            Files.createDirectories(leases);
+
+            Path lockFile = directory.resolve("cluster.lock").toAbsolutePath().normalize();
+            this.localLock = LOCAL_LOCKS.computeIfAbsent(lockFile, path -> new ReentrantLock());
+            this.lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to open lease directory " + directory, exception);
+        }
+    }
+
+    @Override
+    public void heartbeat(@NotNull String node, @NotNull Duration ttl) {
+        locked("record heartbeat of " + node, () -> {
+            Files.writeString(nodes.resolve(fileName(node)), Long.toString(clock.millis() + ttl.toMillis()));
+            return null;
+        });
+    }
+
+    @Override
+    public void leave(@NotNull String node) {
+        locked("remove node " + node, () -> Files.deleteIfExists(nodes.resolve(fileName(node))));
+    }
+
+    @Override
+    public @NotNull Set<String> getLiveNodes() {
+        return locked("list nodes", () -> {
+            Set<String> live = new HashSet<>();
+            long now = clock.millis();
+
+            try (Stream<Path> files = Files.list(nodes)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String content = read(file);
+                    if (content != null && parseExpiry(content) > now) live.add(nodeName(file));
+                    else Files.deleteIfExists(file);
+                }
+            }
+
+            return live;
+        });
+    }
+
+    @Override
+    public boolean tryAcquire(@NotNull String lease, @NotNull String node, @NotNull Duration ttl) {
+        return locked("acquire lease " + lease, () -> {
+            Path file = leases.resolve(fileName(lease));
+            long now = clock.millis();
+
+            String content = read(file);
+            if (content != null) {
+                int separator = content.lastIndexOf('\n');
+                String holder = separator < 0 ? "" : content.substring(0, separator);
+                if (!holder.equals(node) && parseExpiry(content.substring(separator + 1)) > now) return false;
+            }
+
+            Files.writeString(file, node + '\n' + (now + ttl.toMillis()));
+            return true;
+        });
+    }
+
+    @Override
+    public void release(@NotNull String lease, @NotNull String node) {
+        locked("release lease " + lease, () -> {
+            Path file = leases.resolve(fileName(lease));
+
+            String content = read(file);
+            if (content != null && content.startsWith(node + '\n')) Files.delete(file);
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        try {
+            lockChannel.close();
+        } catch (IOException exception) {
+            System.err.println("Failed to close lease directory lock: " + exception.getMessage());
+        }
+    }
+
+    private <T> T locked(@NotNull String description, @NotNull IOAction<T> action) {
+        localLock.lock();
+        try {
+            FileLock fileLock = lockChannel.lock();
+            try {
+                return action.run();
+            } finally {
+                fileLock.release();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to " + description, exception);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private static String read(@NotNull Path file) throws IOException {
+        try {
+            return Files.readString(file);
+        } catch (NoSuchFileException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The expiry, or 0 for a file that was torn by a crash mid-write, which therefore counts as expired
+     */
+    private static long parseExpiry(@NotNull String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    private static @NotNull String fileName(@NotNull String name) {
+        return ENCODER.encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static @NotNull String nodeName(@NotNull Path file) {
+        return new String(DECODER.decode(file.getFileName().toString()), StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface IOAction<T> {
+        T run() throws IOException;
+    }
+}
\ No newline at end of file
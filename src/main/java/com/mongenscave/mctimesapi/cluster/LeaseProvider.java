@@ -0,0 +1,41 @@
+package com.mongenscave.mctimesapi.cluster;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Shared coordination service through which the nodes of a cluster announce themselves and claim tasks.
+ * Heartbeats and leases expire on their own, so whatever a crashed node held is taken over once its TTL has passed.
+ */
+public interface LeaseProvider {
+    /**
+     * Announce that the node is alive for at least the given time
+     */
+    void heartbeat(@NotNull String node, @NotNull Duration ttl);
+
+    /**
+     * Remove the node right away instead of waiting for its heartbeat to expire
+     */
+    void leave(@NotNull String node);
+
+    /**
+     * @return Every node whose last heartbeat has not expired yet
+     */
+    @NotNull Set<String> getLiveNodes();
+
+    /**
+     * Acquire the lease, or extend it if the node already holds it
+     *
+     * @return true if the node holds the lease afterwards
+     */
+    boolean tryAcquire(@NotNull String lease, @NotNull String node, @NotNull Duration ttl);
+
+    /**
+     * Give up the lease if the node holds it
+     */
+    void release(@NotNull String lease, @NotNull String node);
+
+    default void close() {}
+}
\ No newline at end of file
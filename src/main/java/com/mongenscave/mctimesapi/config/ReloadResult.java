@@ -0,0 +1,14 @@
+package com.mongenscave.mctimesapi.config;
+
+/**
+ * What one reload of a schedule file changed. Unchanged tasks kept running untouched.
+ */
+public record ReloadResult(int added,
+                           int changed,
+                           int removed,
+                           int unchanged) {
+
+    public boolean isEmpty() {
+        return added == 0 && changed == 0 && removed == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.mongenscave.mctimesapi.config;
+
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.MisfirePolicy;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import com.mongenscave.mctimesapi.models.RetryPolicy;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * One task of a schedule file. The name doubles as the task's persistence key, and two definitions
+ * are the same task exactly when they are equal.
+ *
+ * @param action Name of the registered action the task runs
+ * @param spread Spread window, or {@code null} to use the group's or the scheduler's
+ * @param retries Retries after a failed run; 0 uses the scheduler's retry policy
+ * @param maxRetryDelay Cap of an exponential backoff, or {@code null} for a fixed delay
+ */
+public record ScheduleDefinition(String name,
+                                 String schedule,
+                                 String action,
+                                 boolean async,
+                                 boolean global,
+                                 ExecutionMode mode,
+                                 OverlapPolicy overlap,
+                                 MisfirePolicy misfire,
+                                 Set<String> tags,
+                                 Duration spread,
+                                 int retries,
+                                 Duration retryDelay,
+                                 Duration maxRetryDelay) {
+
+    public @NotNull ScheduleRequest toRequest(@NotNull Runnable task, Object owner) {
+        return ScheduleRequest.builder()
+                .scheduleString(schedule)
+                .task(task)
+                .key(name)
+                .async(async)
+                .global(global)
+                .executionMode(mode)
+                .overlapPolicy(overlap)
+                .misfirePolicy(misfire)
+                .tags(tags)
+                .spread(spread)
+                .retryPolicy(retryPolicy())
+                .owner(owner)
+                .build();
+    }
+
+    private RetryPolicy retryPolicy() {
+        if (retries == 0) return null;
+        return maxRetryDelay != null ? RetryPolicy.exponential(retries, retryDelay, maxRetryDelay) : RetryPolicy.fixed(retries, retryDelay);
+    }
+}
\ No newline at end of file
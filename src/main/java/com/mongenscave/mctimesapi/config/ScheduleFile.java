@@ -0,0 +1,177 @@
+package com.mongenscave.mctimesapi.config;
+
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.MisfirePolicy;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads schedule files: a {@code tasks} mapping from task name to its settings.
+ * <pre>
+ * tasks:
+ *   daily-backup:
+ *     schedule: EVERYDAY @ 04:00
+ *     action: backup          # defaults to the task name
+ *     async: true
+ *     tags: [maintenance, io]
+ *     retries: 3
+ *     retry-delay: 30s
+ * </pre>
+ * Durations take a number and one of {@code ms}, {@code s}, {@code m}, {@code h} or {@code d}.
+ */
+public final class ScheduleFile {
+    private static final Set<String> KEYS = Set.of("schedule", "action", "async", "global", "mode", "overlap", "misfire",
+            "tags", "spread", "retries", "retry-delay", "max-retry-delay");
+
+    private ScheduleFile() {}
+
+    /**
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is malformed
+     */
+    public static @NotNull Map<String, ScheduleDefinition> read(@NotNull Path file) {
+        try {
+            return parse(Files.readString(file), file.getFileName().toString());
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read schedule file " + file, exception);
+        }
+    }
+
+    /**
+     * @param source Name used in error messages
+     * @return The definitions by task name, in file order
+     * @throws IllegalArgumentException if the content is malformed
+     */
+    public static @NotNull Map<String, ScheduleDefinition> parse(@NotNull String content, @NotNull String source) {
+        Map<String, Object> root = YamlReader.read(content, source);
+        for (String key : root.keySet()) {
+            if (!key.equals("tasks")) throw new IllegalArgumentException(source + ": Unknown top-level key '" + key + "', expected 'tasks'");
+        }
+
+        Map<String, ScheduleDefinition> definitions = new LinkedHashMap<>();
+        Object tasks = root.get("tasks");
+        if (tasks == null) return definitions;
+        if (!(tasks instanceof Map<?, ?> entries)) throw new IllegalArgumentException(source + ": 'tasks' must be a mapping of task names");
+
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            String name = (String) entry.getKey();
+            if (!(entry.getValue() instanceof Map<?, ?> settings)) throw new IllegalArgumentException(source + ": Task '" + name + "' must be a mapping");
+
+            definitions.put(name, definition(new Context(source, name, settings)));
+        }
+
+        return definitions;
+    }
+
+    private static @NotNull ScheduleDefinition definition(@NotNull Context context) {
+        for (Object key : context.settings().keySet()) {
+            if (!KEYS.contains(key)) throw context.error("Unknown key '" + key + "'");
+        }
+
+        String schedule = context.string("schedule", null);
+        if (schedule == null) throw context.error("Missing 'schedule'");
+
+        int retries = context.integer("retries");
+        Duration retryDelay = context.duration("retry-delay");
+        Duration maxRetryDelay = context.duration("max-retry-delay");
+        if (retries > 0 && retryDelay == null) throw context.error("'retries' needs a 'retry-delay'");
+
+        return new ScheduleDefinition(context.name(),
+                schedule,
+                context.string("action", context.name()),
+                context.bool("async"),
+                context.bool("global"),
+                context.constant("mode", ExecutionMode.class, ExecutionMode.DEFAULT),
+                context.constant("overlap", OverlapPolicy.class, OverlapPolicy.DEFAULT),
+                context.constant("misfire", MisfirePolicy.class, MisfirePolicy.DEFAULT),
+                context.tags(),
+                context.duration("spread"),
+                retries,
+                retryDelay != null ? retryDelay : Duration.ZERO,
+                maxRetryDelay);
+    }
+
+    private record Context(String source, String name, Map<?, ?> settings) {
+        private String string(@NotNull String key, String fallback) {
+            Object value = settings.get(key);
+            if (value == null) return fallback;
+            if (!(value instanceof String text)) throw error("'" + key + "' must be a single value");
+            return text;
+        }
+
+        private boolean bool(@NotNull String key) {
+            String value = string(key, "false");
+            if (value.equalsIgnoreCase("true")) return true;
+            if (value.equalsIgnoreCase("false")) return false;
+            throw error("'" + key + "' must be true or false");
+        }
+
+        private int integer(@NotNull String key) {
+            String value = string(key, "0");
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed < 0) throw error("'" + key + "' must not be negative");
+                return parsed;
+            } catch (NumberFormatException exception) {
+                throw error("'" + key + "' must be a whole number");
+            }
+        }
+
+        private Duration duration(@NotNull String key) {
+            String value = string(key, null);
+            if (value == null) return null;
+
+            int unit = 0;
+            while (unit < value.length() && Character.isDigit(value.charAt(unit))) unit++;
+            if (unit == 0) throw error("'" + key + "' must be a duration like 30s or 5m");
+
+            long amount = Long.parseLong(value.substring(0, unit));
+            return switch (value.substring(unit).trim().toLowerCase()) {
+                case "ms" -> Duration.ofMillis(amount);
+                case "s" -> Duration.ofSeconds(amount);
+                case "m" -> Duration.ofMinutes(amount);
+                case "h" -> Duration.ofHours(amount);
+                case "d" -> Duration.ofDays(amount);
+                default -> throw error("'" + key + "' must end in ms, s, m, h or d");
+            };
+        }
+
+        private <E extends Enum<E>> E constant(@NotNull String key, @NotNull Class<E> type, @NotNull E fallback) {
+            String value = string(key, null);
+            if (value == null) return fallback;
+
+            try {
+                return Enum.valueOf(type, value.toUpperCase());
+            } catch (IllegalArgumentException exception) {
+                throw error("Unknown " + key + " '" + value + "'");
+            }
+        }
+
+        private Set<String> tags() {
+            Object value = settings.get("tags");
+            if (value == null) return Set.of();
+            if (value instanceof String tag) return Set.of(tag);
+
+            try {
+                @SuppressWarnings("unchecked") List<String> tags = (List<String>) value;
+                return Set.copyOf(tags);
+            } catch (ClassCastException | IllegalArgumentException exception) {
+                throw error("'tags' must be a list of distinct values");
+            }
+        }
+
+        private @NotNull IllegalArgumentException error(@NotNull String message) {
+            return new IllegalArgumentException(source + ": Task '" + name + "': " + message);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.mongenscave.mctimesapi.config;
+
+import com.mongenscave.mctimesapi.exceptions.ScheduleParseException;
+import com.mongenscave.mctimesapi.manager.SchedulerManager;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the tasks of a schedule file in sync with the file. A reload compares the file with the last
+ * applied version and only touches what differs: new tasks are registered, removed ones cancelled, and
+ * changed ones replaced, all in one step on the scheduler. Unchanged tasks keep their deadline, counters
+ * and any run in progress. A file that fails to parse, names an unknown action or holds an invalid schedule
+ * changes nothing. Tasks are grouped under this reloader, and closing it cancels them.
+ */
+public final class ScheduleReloader implements AutoCloseable {
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    /**
+     * @param task The registered task, or null if the scheduler dropped it at registration, e.g. a
+     *             {@code ONCE} task whose persisted state says it already ran
+     */
+    private record Entry(ScheduleDefinition definition, ScheduleTask task) {}
+
+    @Getter private final Path file;
+    private final SchedulerManager schedulerManager;
+    private final Map<String, Runnable> actions;
+    private final Consumer<ScheduleReloader> onClose;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private String appliedContent;
+    private WatchService watchService;
+    private Thread watcher;
+    private volatile boolean closed;
+
+    /**
+     * @param actions What each task runs, by the name its {@code action} refers to
+     */
+    public ScheduleReloader(@NotNull SchedulerManager schedulerManager, @NotNull Path file, @NotNull Map<String, Runnable> actions) {
+        this(schedulerManager, file, actions, ignored -> {});
+    }
+
+    /**
+     * @param actions What each task runs, by the name its {@code action} refers to
+     * @param onClose Called once when the reloader closes
+     */
+    public ScheduleReloader(@NotNull SchedulerManager schedulerManager, @NotNull Path file, @NotNull Map<String, Runnable> actions, @NotNull Consumer<ScheduleReloader> onClose) {
+        this.schedulerManager = schedulerManager;
+        this.file = file.toAbsolutePath().normalize();
+        this.actions = Map.copyOf(actions);
+        this.onClose = onClose;
+    }
+
+    /**
+     * Read the file and apply what changed since the last reload
+     *
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is invalid; nothing is changed
+     */
+    public synchronized @NotNull ReloadResult reload() {
+        if (closed) throw new IllegalStateException("Schedule reloader for " + file + " is closed");
+
+        String content;
+        try {
+            content = Files.readString(file);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read schedule file " + file, exception);
+        }
+
+        if (content.equals(appliedContent)) return new ReloadResult(0, 0, 0, entries.size());
+
+        Map<String, ScheduleDefinition> definitions = ScheduleFile.parse(content, file.getFileName().toString());
+        List<ScheduleTask> cancelled = new ArrayList<>();
+        List<ScheduleRequest> requests = new ArrayList<>();
+        List<ScheduleDefinition> registered = new ArrayList<>();
+        int added = 0;
+        int changed = 0;
+        int removed = 0;
+
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (definitions.containsKey(entry.getKey())) continue;
+
+            if (entry.getValue().task() != null) cancelled.add(entry.getValue().task());
+            removed++;
+        }
+
+        for (ScheduleDefinition definition : definitions.values()) {
+            Entry existing = entries.get(definition.name());
+            if (existing != null && existing.definition().equals(definition) && (existing.task() == null || !existing.task().isCancelled())) continue;
+
+            validate(definition);
+            if (existing != null) {
+                if (existing.task() != null) cancelled.add(existing.task());
+                changed++;
+            } else {
+                added++;
+            }
+
+            requests.add(definition.toRequest(actions.get(definition.action()), this));
+            registered.add(definition);
+        }
+
+        if (!cancelled.isEmpty() || !requests.isEmpty()) {
+            List<ScheduleTask> tasks;
+            try {
+                tasks = schedulerManager.replaceTasks(cancelled, requests).join();
+            } catch (CompletionException exception) {
+                throw exception.getCause() instanceof RuntimeException cause ? cause : exception;
+            }
+
+            Map<String, ScheduleTask> scheduled = new HashMap<>();
+            for (ScheduleTask task : tasks) scheduled.put(task.getKey(), task);
+            for (ScheduleDefinition definition : registered) entries.put(definition.name(), new Entry(definition, scheduled.get(definition.name())));
+        }
+
+        entries.keySet().retainAll(definitions.keySet());
+        appliedContent = content;
+        return new ReloadResult(added, changed, removed, entries.size() - added - changed);
+    }
+
+    /**
+     * Reload whenever the file changes. Bursts of events, e.g. from an editor saving, are coalesced into one reload.
+     * A reload that fails is reported on {@code System.err} and leaves the tasks as they were
+     *
+     * @throws UncheckedIOException if the file's directory cannot be watched
+     */
+    public synchronized void watch() {
+        if (closed) throw new IllegalStateException("Schedule reloader for " + file + " is closed");
+        if (watcher != null) return;
+
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to watch schedule file " + file, exception);
+        }
+
+        watcher = new Thread(this::watchLoop, "TimesAPI-Schedule-Watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized @NotNull Map<String, ScheduleTask> getTasks() {
+        Map<String, ScheduleTask> tasks = new HashMap<>();
+        entries.forEach((name, entry) -> {
+            if (entry.task() != null) tasks.put(name, entry.task());
+        });
+        return tasks;
+    }
+
+    /**
+     * Stop watching and cancel every task of the file
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+
+        if (watcher != null) {
+            try {
+                watchService.close();
+            } catch (IOException exception) {
+                System.err.println("Failed to close watcher of " + file + ": " + exception.getMessage());
+            }
+            watcher.interrupt();
+        }
+
+        schedulerManager.cancelGroup(this);
+        entries.clear();
+        onClose.accept(this);
+    }
+
+    private void validate(@NotNull ScheduleDefinition definition) {
+        if (!actions.containsKey(definition.action())) {
+            throw new IllegalArgumentException(file.getFileName() + ": Task '" + definition.name() + "': Unknown action '" + definition.action() + "'");
+        }
+
+        try {
+            ScheduleParser.compile(definition.schedule());
+        } catch (ScheduleParseException exception) {
+            throw new IllegalArgumentException(file.getFileName() + ": Task '" + definition.name() + "': " + exception.getMessage(), exception);
+        }
+    }
+
+    private void watchLoop() {
+        Path name = file.getFileName();
+
+        while (!closed) {
+            try {
+                WatchKey key = watchService.take();
+                boolean relevant = false;
+
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) relevant = true;
+                    }
+
+                    key.reset();
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                if (relevant && !closed) reloadQuietly();
+            } catch (InterruptedException | ClosedWatchServiceException exception) {
+                return;
+            }
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException exception) {
+            if (!closed) System.err.println("Failed to reload schedules from " + file + ": " + exception.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.mongenscave.mctimesapi.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader for the subset of YAML that schedule files use: nested block mappings, block and flow sequences
+ * of scalars, plain or quoted scalars and comments. Anchors, multi-line strings and multiple documents are
+ * not supported. Every scalar is returned as a string; the caller converts it.
+ */
+final class YamlReader {
+    private record Line(int number, int indent, String text) {}
+
+    private final String source;
+    private final List<Line> lines = new ArrayList<>();
+    private int index;
+
+    private YamlReader(@NotNull String content, @NotNull String source) {
+        this.source = source;
+
+        String[] rawLines = content.split("\\R", -1);
+        for (int i = 0; i < rawLines.length; i++) {
+            String text = stripComment(rawLines[i]).stripTrailing();
+            if (text.isBlank() || (lines.isEmpty() && text.equals("---"))) continue;
+
+            int indent = 0;
+            while (indent < text.length() && text.charAt(indent) == ' ') indent++;
+            if (text.charAt(indent) == '\t') throw error(i + 1, "Tabs are not allowed for indentation");
+
+            lines.add(new Line(i + 1, indent, text.substring(indent)));
+        }
+    }
+
+    /**
+     * @return The top-level mapping, with nested {@code Map}, {@code List} and {@code String} values, or {@code null} for empty values
+     * @throws IllegalArgumentException if the content is not in the supported subset
+     */
+    static @NotNull Map<String, Object> read(@NotNull String content, @NotNull String source) {
+        YamlReader reader = new YamlReader(content, source);
+        if (reader.lines.isEmpty()) return new LinkedHashMap<>();
+
+        Line first = reader.lines.get(0);
+        if (first.indent() != 0) throw reader.error(first.number(), "Unexpected indentation");
+        if (isSequenceItem(first.text())) throw reader.error(first.number(), "Expected a mapping at the top level");
+
+        return reader.mapping(0);
+    }
+
+    private @NotNull Map<String, Object> mapping(int indent) {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        while (index < lines.size()) {
+            Line line = lines.get(index);
+            if (line.indent() < indent) break;
+            if (line.indent() > indent) throw error(line.number(), "Unexpected indentation");
+            if (isSequenceItem(line.text())) throw error(line.number(), "Expected 'key: value'");
+
+            int colon = keyEnd(line.text());
+            if (colon < 0) throw error(line.number(), "Expected 'key: value'");
+
+            String key = scalar(line.text().substring(0, colon).trim(), line);
+            String rest = line.text().substring(colon + 1).trim();
+            if (map.containsKey(key)) throw error(line.number(), "Duplicate key '" + key + "'");
+            index++;
+
+            Object value = null;
+            if (!rest.isEmpty()) value = value(rest, line);
+            else if (index < lines.size() && lines.get(index).indent() > indent) value = block(lines.get(index).indent());
+            else if (index < lines.size() && lines.get(index).indent() == indent && isSequenceItem(lines.get(index).text())) value = sequence(indent);
+
+            map.put(key, value);
+        }
+
+        return map;
+    }
+
+    private @NotNull Object block(int indent) {
+        return isSequenceItem(lines.get(index).text()) ? sequence(indent) : mapping(indent);
+    }
+
+    private @NotNull List<String> sequence(int indent) {
+        List<String> items = new ArrayList<>();
+
+        while (index < lines.size()) {
+            Line line = lines.get(index);
+            if (line.indent() != indent || !isSequenceItem(line.text())) break;
+
+            String item = line.text().substring(1).trim();
+            if (item.isEmpty() || keyEnd(item) >= 0 || item.startsWith("[")) throw error(line.number(), "Only plain values are supported as list items");
+
+            items.add(scalar(item, line));
+            index++;
+        }
+
+        return items;
+    }
+
+    private @NotNull Object value(@NotNull String text, @NotNull Line line) {
+        if (!text.startsWith("[")) return scalar(text, line);
+        if (!text.endsWith("]")) throw error(line.number(), "Unterminated list");
+
+        List<String> items = new ArrayList<>();
+        String body = text.substring(1, text.length() - 1);
+        if (body.isBlank()) return items;
+
+        int start = 0;
+        char quote = 0;
+        for (int i = 0; i <= body.length(); i++) {
+            char current = i < body.length() ? body.charAt(i) : ',';
+            if (quote != 0) {
+                if (current == quote) quote = 0;
+            } else if (current == '"' || current == '\'') {
+                quote = current;
+            } else if (current == ',') {
+                String item = body.substring(start, i).trim();
+                if (item.isEmpty()) throw error(line.number(), "Empty list item");
+                items.add(scalar(item, line));
+                start = i + 1;
+            }
+        }
+
+        return items;
+    }
+
+    private @NotNull String scalar(@NotNull String text, @NotNull Line line) {
+        if (text.length() >= 2 && text.charAt(0) == '\'' && text.charAt(text.length() - 1) == '\'') {
+            return text.substring(1, text.length() - 1).replace("''", "'");
+        }
+
+        if (text.length() >= 2 && text.charAt(0) == '"' && text.charAt(text.length() - 1) == '"') {
+            StringBuilder unescaped = new StringBuilder(text.length());
+            for (int i = 1; i < text.length() - 1; i++) {
+                char current = text.charAt(i);
+                if (current == '\\' && i + 1 < text.length() - 1) current = text.charAt(++i);
+                unescaped.append(current);
+            }
+            return unescaped.toString();
+        }
+
+        if (text.charAt(0) == '"' || text.charAt(0) == '\'') throw error(line.number(), "Unterminated quote");
+        return text;
+    }
+
+    /**
+     * @return The position of the colon ending a key, or -1 if the text is not a {@code key: value} pair
+     */
+    private static int keyEnd(@NotNull String text) {
+        char quote = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+            if (quote != 0) {
+                if (current == quote) quote = 0;
+            } else if (current == '"' || current == '\'') {
+                if (i == 0) quote = current;
+            } else if (current == ':' && (i + 1 == text.length() || text.charAt(i + 1) == ' ')) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isSequenceItem(@NotNull String text) {
+        return text.equals("-") || text.startsWith("- ");
+    }
+
+    private static @NotNull String stripComment(@NotNull String line) {
+        char quote = 0;
+
+        for (int i = 0; i < line.length(); i++) {
+            char current = line.charAt(i);
+            if (quote != 0) {
+                if (current == quote) quote = 0;
+            } else if (current == '"' || current == '\'') {
+                if (i == 0 || !Character.isLetterOrDigit(line.charAt(i - 1))) quote = current;
+            } else if (current == '#' && (i == 0 || Character.isWhitespace(line.charAt(i - 1)))) {
+                return line.substring(0, i);
+            }
+        }
+
+        return line;
+    }
+
+    private @NotNull IllegalArgumentException error(int lineNumber, @NotNull String message) {
+        return new IllegalArgumentException(source + ":" + lineNumber + ": " + message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.mongenscave.mctimesapi.dispatch;
+
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs synchronous tasks directly on the scheduler's dispatch thread.
+ * This is the default for standalone applications without a server thread.
+ */
+public final class InlineSyncDispatcher implements SyncDispatcher {
+    @Override
+    public void dispatch(@NotNull ScheduleTask task, @NotNull Runnable execution) {
+        execution.run();
+    }
+}
\ No newline at end of file
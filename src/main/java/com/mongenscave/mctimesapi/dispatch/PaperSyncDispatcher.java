@@ -0,0 +1,138 @@
+package com.mongenscave.mctimesapi.dispatch;
+
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs synchronous tasks on the server's own threads through Paper's global, region and entity schedulers.
+ * <p>
+ * A task anchored to an {@link Entity} runs on the thread owning that entity and is dropped once the entity
+ * is removed; a task anchored to a {@link Location} runs on the thread owning that region; everything else runs
+ * on the global region thread. On Paper, which has a single main thread, all work shares one queue and budget.
+ * On Folia, every region section and entity has its own queue, drained by its owning thread each tick.
+ */
+public final class PaperSyncDispatcher implements SyncDispatcher {
+    private static final int REGION_SECTION_SHIFT = 3;
+    private static final boolean FOLIA = isFolia();
+
+    private final Plugin plugin;
+    private final Duration budget;
+    private final TickBudgetQueue globalQueue;
+    private final Map<RegionKey, TickBudgetQueue> regionQueues = new ConcurrentHashMap<>();
+    private final Map<UUID, TickBudgetQueue> entityQueues = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * @param plugin The plugin the scheduled work is registered under
+     * @param budget How long each queue may run tasks per tick before the rest spills into the next tick
+     */
+    public PaperSyncDispatcher(@NotNull Plugin plugin, @NotNull Duration budget) {
+        this.plugin = plugin;
+        this.budget = budget;
+        this.globalQueue = new TickBudgetQueue(budget);
+    }
+
+    @Override
+    public void dispatch(@NotNull ScheduleTask task, @NotNull Runnable execution) {
+        if (closed.get()) {
+            task.reject();
+            return;
+        }
+
+        Object anchor = task.getAnchor();
+        if (FOLIA && anchor instanceof Entity entity) dispatchToEntity(entity, task, execution);
+        else if (FOLIA && anchor instanceof Location location && location.getWorld() != null) dispatchToRegion(location, task, execution);
+        else if (globalQueue.offer(task, execution)) Bukkit.getGlobalRegionScheduler().execute(plugin, this::drainGlobal);
+    }
+
+    private void drainGlobal() {
+        if (closed.get()) globalQueue.retire();
+        else if (globalQueue.drain()) Bukkit.getGlobalRegionScheduler().runDelayed(plugin, ignored -> drainGlobal(), 1);
+    }
+
+    private void dispatchToRegion(@NotNull Location location, @NotNull ScheduleTask task, @NotNull Runnable execution) {
+        RegionKey key = new RegionKey(location.getWorld().getUID(), location.getBlockX() >> (4 + REGION_SECTION_SHIFT), location.getBlockZ() >> (4 + REGION_SECTION_SHIFT));
+        TickBudgetQueue queue = regionQueues.computeIfAbsent(key, ignored -> new TickBudgetQueue(budget));
+
+        if (queue.offer(task, execution)) Bukkit.getRegionScheduler().execute(plugin, location, () -> drainRegion(key, location, queue));
+    }
+
+    private void drainRegion(@NotNull RegionKey key, @NotNull Location location, @NotNull TickBudgetQueue queue) {
+        if (closed.get()) {
+            queue.retire();
+            return;
+        }
+
+        if (queue.drain()) Bukkit.getRegionScheduler().runDelayed(plugin, location, ignored -> drainRegion(key, location, queue), 1);
+        else regionQueues.remove(key, queue);
+    }
+
+    /**
+     * An entity's queue is retired once the entity is removed. Offering to a retired queue rejects the
+     * execution, so a run dispatched while the entity is being removed is released rather than stranded
+     */
+    private void dispatchToEntity(@NotNull Entity entity, @NotNull ScheduleTask task, @NotNull Runnable execution) {
+        UUID id = entity.getUniqueId();
+        TickBudgetQueue queue = entityQueues.computeIfAbsent(id, ignored -> new TickBudgetQueue(budget));
+
+        if (queue.offer(task, execution) && entity.getScheduler().run(plugin, ignored -> drainEntity(entity, queue), () -> retire(id, queue)) == null) retire(id, queue);
+    }
+
+    private void drainEntity(@NotNull Entity entity, @NotNull TickBudgetQueue queue) {
+        if (closed.get()) {
+            queue.retire();
+            return;
+        }
+
+        UUID id = entity.getUniqueId();
+        if (!queue.drain()) entityQueues.remove(id, queue);
+        else if (entity.getScheduler().runDelayed(plugin, ignored -> drainEntity(entity, queue), () -> retire(id, queue), 1) == null) retire(id, queue);
+    }
+
+    private void retire(@NotNull UUID id, @NotNull TickBudgetQueue queue) {
+        entityQueues.remove(id, queue);
+        queue.retire();
+    }
+
+    /**
+     * @return executions waiting for a tick across every queue
+     */
+    public int getPending() {
+        int pending = globalQueue.size();
+        for (TickBudgetQueue queue : regionQueues.values()) pending += queue.size();
+        for (TickBudgetQueue queue : entityQueues.values()) pending += queue.size();
+        return pending;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        globalQueue.retire();
+        regionQueues.values().forEach(TickBudgetQueue::retire);
+        regionQueues.clear();
+        entityQueues.values().forEach(TickBudgetQueue::retire);
+        entityQueues.clear();
+    }
+
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+
+    private record RegionKey(UUID world, int sectionX, int sectionZ) {}
+}
\ No newline at end of file
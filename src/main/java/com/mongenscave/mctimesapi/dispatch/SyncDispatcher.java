@@ -0,0 +1,18 @@
+package com.mongenscave.mctimesapi.dispatch;
+
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides which thread runs a due synchronous task. The scheduler computes the next deadline
+ * as soon as the execution is handed over, so implementations may run it later.
+ */
+public interface SyncDispatcher {
+    /**
+     * @param task The due task; its anchor may select a region or entity thread
+     * @param execution Runs the task and records its metrics
+     */
+    void dispatch(@NotNull ScheduleTask task, @NotNull Runnable execution);
+
+    default void close() {}
+}
\ No newline at end of file
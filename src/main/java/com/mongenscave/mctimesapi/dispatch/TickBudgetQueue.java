@@ -0,0 +1,127 @@
+package com.mongenscave.mctimesapi.dispatch;
+
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Work queue drained once per tick on its owning thread. A drain stops once it has used up the
+ * time budget and the rest spills into the next tick, so a burst of due tasks cannot cause a lag spike.
+ * <p>
+ * {@link #offer(ScheduleTask, Runnable)} and {@link #drain()} report when the owner has to schedule a drain,
+ * so at most one drain is ever pending per queue. Every execution was admitted by its task, so work that
+ * is dropped instead of run is handed back through {@link ScheduleTask#reject()}.
+ */
+public final class TickBudgetQueue {
+    private record Execution(@NotNull ScheduleTask task, @NotNull Runnable run) {}
+
+    private final Queue<Execution> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean retired = new AtomicBoolean();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong spilledTicks = new AtomicLong();
+    @Getter private final long budgetNanos;
+
+    public TickBudgetQueue(@NotNull Duration budget) {
+        if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("Tick budget must be positive");
+        this.budgetNanos = budget.toNanos();
+    }
+
+    /**
+     * @return true if no drain is pending and the caller must schedule one; false if the queue is retired
+     * and the execution was rejected
+     */
+    public boolean offer(@NotNull ScheduleTask task, @NotNull Runnable execution) {
+        pending.add(new Execution(task, execution));
+        size.incrementAndGet();
+
+        if (retired.get()) {
+            clear();
+            return false;
+        }
+
+        return scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Runs queued work until the queue is empty or the budget is spent. At least one item always runs.
+     *
+     * @return true if work remains and the caller must schedule a drain for the next tick
+     */
+    public boolean drain() {
+        long started = System.nanoTime();
+        Execution next;
+
+        while ((next = pending.poll()) != null) {
+            size.decrementAndGet();
+            try {
+                next.run().run();
+            } catch (Exception exception) {
+                System.err.println("Error running tick-dispatched task: " + exception.getMessage());
+            }
+
+            executed.incrementAndGet();
+            if (System.nanoTime() - started >= budgetNanos) break;
+        }
+
+        if (!pending.isEmpty()) {
+            spilledTicks.incrementAndGet();
+            return true;
+        }
+
+        scheduled.set(false);
+        return !pending.isEmpty() && scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Drops all queued work and rejects it on its task, e.g. when the scheduler shuts down
+     *
+     * @return the number of dropped executions
+     */
+    public int clear() {
+        int dropped = 0;
+        Execution next;
+
+        while ((next = pending.poll()) != null) {
+            size.decrementAndGet();
+            next.task().reject();
+            dropped++;
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Drops all queued work for good, e.g. when the owning entity is removed. Executions offered
+     * afterwards are rejected right away
+     *
+     * @return the number of dropped executions
+     */
+    public int retire() {
+        retired.set(true);
+        return clear();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    /**
+     * @return how many drains ended with work left over for the next tick
+     */
+    public long getSpilledTicks() {
+        return spilledTicks.get();
+    }
+}
\ No newline at end of file
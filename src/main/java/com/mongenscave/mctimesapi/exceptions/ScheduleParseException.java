@@ -0,0 +1,16 @@
+package com.mongenscave.mctimesapi.exceptions;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+@Getter
+public class ScheduleParseException extends IllegalArgumentException {
+    private final String input;
+    private final int position;
+
+    public ScheduleParseException(@NotNull String message, @NotNull String input, int position) {
+        super(message + " at position " + position + " in '" + input + "'");
+        this.input = input;
+        this.position = position;
+    }
+}
\ No newline at end of file
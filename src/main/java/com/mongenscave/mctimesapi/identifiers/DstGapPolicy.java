@@ -0,0 +1,17 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+/**
+ * What a wall-clock schedule does when its local time does not exist because clocks jump forward,
+ * e.g. 02:30 on the day daylight saving time starts
+ */
+public enum DstGapPolicy {
+    /**
+     * Run later by the length of the gap, e.g. at 03:30, just like {@code ZonedDateTime} resolves the time
+     */
+    SHIFT_FORWARD,
+
+    /**
+     * Skip that day's run and continue with the next occurrence
+     */
+    SKIP
+}
\ No newline at end of file
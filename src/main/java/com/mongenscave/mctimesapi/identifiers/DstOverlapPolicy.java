@@ -0,0 +1,17 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+/**
+ * Which occurrence a wall-clock schedule uses when its local time happens twice because clocks fall back,
+ * e.g. 02:30 on the day daylight saving time ends. The task runs once either way.
+ */
+public enum DstOverlapPolicy {
+    /**
+     * Run at the first occurrence, still on summer time
+     */
+    EARLIER,
+
+    /**
+     * Run at the second occurrence, already on standard time
+     */
+    LATER
+}
\ No newline at end of file
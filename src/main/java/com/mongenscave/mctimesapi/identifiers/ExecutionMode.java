@@ -0,0 +1,18 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+public enum ExecutionMode {
+    /**
+     * Use the mode configured on the scheduler
+     */
+    DEFAULT,
+
+    /**
+     * Run async executions on the shared platform-thread worker pool
+     */
+    PLATFORM,
+
+    /**
+     * Run each async execution on its own virtual thread, for tasks that block on I/O
+     */
+    VIRTUAL
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+/**
+ * What a persisted task does on startup with the runs it missed while the application was down
+ */
+public enum MisfirePolicy {
+    /**
+     * Use the policy configured on the scheduler
+     */
+    DEFAULT,
+
+    /**
+     * Run once immediately, then continue with the regular schedule
+     */
+    FIRE_ONCE,
+
+    /**
+     * Replay every missed run in order, up to a safety limit, then continue with the regular schedule
+     */
+    FIRE_ALL,
+
+    /**
+     * Drop the missed runs and continue with the next regular deadline
+     */
+    SKIP
+}
\ No newline at end of file
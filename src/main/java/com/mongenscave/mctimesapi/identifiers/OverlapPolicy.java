@@ -0,0 +1,31 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+/**
+ * What happens when a task becomes due while its previous run has not finished yet
+ */
+public enum OverlapPolicy {
+    /**
+     * Use the policy configured on the scheduler
+     */
+    DEFAULT,
+
+    /**
+     * Drop the new run and count it as skipped
+     */
+    SKIP,
+
+    /**
+     * Remember one follow-up run that starts as soon as the current one ends; further runs are skipped
+     */
+    QUEUE_ONE,
+
+    /**
+     * Start the new run alongside the previous one
+     */
+    ALLOW_CONCURRENT,
+
+    /**
+     * Interrupt the previous run, or drop it if it has not started yet, and start the new one
+     */
+    CANCEL_PREVIOUS
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+/**
+ * What the async worker pool does with a run when its bounded queue is full
+ */
+public enum RejectionPolicy {
+    /**
+     * Drop the new run and count it as rejected
+     */
+    DISCARD,
+
+    /**
+     * Drop the oldest queued run, counting it as rejected, and queue the new one
+     */
+    DISCARD_OLDEST,
+
+    /**
+     * Hand the new run to a single overflow thread, where it waits its turn. Nothing is dropped and the
+     * dispatch thread is never held up; overflowing runs are only slower while the pool catches up
+     */
+    CALLER_RUNS
+}
\ No newline at end of file
@@ -8,5 +8,7 @@ public enum ScheduleType {
     MONTHLY,
     INTERVAL,
     ONCE,
-    RANGE
+    RANGE,
+    CRON,
+    COMPOUND
 }
\ No newline at end of file
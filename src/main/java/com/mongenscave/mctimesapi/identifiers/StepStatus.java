@@ -0,0 +1,21 @@
+package com.mongenscave.mctimesapi.identifiers;
+
+/**
+ * How a workflow step ended in one run
+ */
+public enum StepStatus {
+    /**
+     * The step ran and returned a result
+     */
+    SUCCEEDED,
+
+    /**
+     * The step threw, or the executor turned it away
+     */
+    FAILED,
+
+    /**
+     * The step did not run because a step it depends on failed or was skipped
+     */
+    SKIPPED
+}
\ No newline at end of file
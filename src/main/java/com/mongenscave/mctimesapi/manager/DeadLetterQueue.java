@@ -0,0 +1,68 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.models.DeadLetter;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded buffer of firings that exhausted their retries, oldest first. Once full, every new
+ * dead letter evicts the oldest one.
+ */
+public final class DeadLetterQueue {
+    private final int capacity;
+    private final ArrayDeque<DeadLetter> letters;
+    private long nextId = 1;
+    @Getter private long evicted;
+
+    DeadLetterQueue(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.letters = new ArrayDeque<>(Math.min(this.capacity, 1024));
+    }
+
+    synchronized void add(@NotNull ScheduleTask task, long deadline, long failedAt, int attempts, @NotNull Exception failure) {
+        if (capacity == 0) {
+            evicted++;
+            return;
+        }
+
+        if (letters.size() == capacity) {
+            letters.pollFirst();
+            evicted++;
+        }
+
+        letters.addLast(new DeadLetter(nextId++, task, deadline, failedAt, attempts, failure));
+    }
+
+    public synchronized @NotNull List<DeadLetter> getLetters() {
+        return new ArrayList<>(letters);
+    }
+
+    public synchronized DeadLetter remove(long id) {
+        Iterator<DeadLetter> iterator = letters.iterator();
+        while (iterator.hasNext()) {
+            DeadLetter letter = iterator.next();
+            if (letter.id() != id) continue;
+
+            iterator.remove();
+            return letter;
+        }
+
+        return null;
+    }
+
+    public synchronized @NotNull List<DeadLetter> drain() {
+        List<DeadLetter> drained = new ArrayList<>(letters);
+        letters.clear();
+        return drained;
+    }
+
+    public synchronized int size() {
+        return letters.size();
+    }
+}
\ No newline at end of file
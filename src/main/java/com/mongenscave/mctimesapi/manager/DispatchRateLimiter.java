@@ -0,0 +1,49 @@
+package com.mongenscave.mctimesapi.manager;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Token bucket over firings, kept as a theoretical arrival time (GCRA) so a firing over the limit
+ * can be given the exact slot it may run at instead of being dropped. Up to {@code limit} firings
+ * pass at once; after that one slot frees up every {@code interval / limit}.
+ * <p>
+ * Times are scaled by the limit, so the emission interval stays exact for any limit and interval.
+ */
+final class DispatchRateLimiter {
+    private final int limit;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private long origin = Long.MIN_VALUE;
+    private long arrival;
+    @Getter private long deferred;
+
+    DispatchRateLimiter(int limit, @NotNull Duration interval) {
+        if (limit <= 0) throw new IllegalArgumentException("Rate limit must be positive");
+        if (interval.toMillis() <= 0) throw new IllegalArgumentException("Rate interval must be at least one millisecond");
+
+        this.limit = limit;
+        this.emissionInterval = interval.toMillis();
+        this.burstTolerance = (limit - 1) * emissionInterval;
+    }
+
+    /**
+     * Reserve the earliest slot at or after {@code now} for one firing
+     *
+     * @return The time in epoch milliseconds the firing may be dispatched at
+     */
+    synchronized long reserve(long now) {
+        if (origin == Long.MIN_VALUE) origin = now;
+
+        long scaledNow = (now - origin) * limit;
+        long slot = Math.max(scaledNow, arrival - burstTolerance);
+        arrival = Math.max(arrival, scaledNow) + emissionInterval;
+
+        if (slot == scaledNow) return now;
+
+        deferred++;
+        return origin + Math.ceilDiv(slot, limit);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
+import com.mongenscave.mctimesapi.math.TaskCalculator;
+import com.mongenscave.mctimesapi.models.Firing;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy k-way merge of the upcoming firings of many schedules, in time order. Every schedule keeps one cursor
+ * in a min-heap, and only the cursor just consumed computes its next deadline, so taking n firings across
+ * k schedules costs O(n log k) and nothing past the last firing taken is ever computed.
+ */
+final class FiringForecast implements Iterator<Firing> {
+    private final TaskCalculator taskCalculator;
+    private final PriorityQueue<Cursor> cursors;
+    private final long horizon;
+
+    private FiringForecast(@NotNull TaskCalculator taskCalculator, @NotNull List<Cursor> cursors, long horizon) {
+        this.taskCalculator = taskCalculator;
+        this.cursors = new PriorityQueue<>(Math.max(1, cursors.size()));
+        this.cursors.addAll(cursors);
+        this.horizon = horizon;
+    }
+
+    /**
+     * The firings a task with this schedule would have if it were registered at {@code from}
+     */
+    static @NotNull Stream<Firing> preview(@NotNull TaskCalculator taskCalculator, @NotNull String scheduleString, @NotNull ScheduleMatcher matcher, long from, int count) {
+        long first = taskCalculator.calculateNextExecution(matcher, from, ScheduleMatcher.NONE);
+        List<Cursor> cursors = first != ScheduleMatcher.NONE ? List.of(new Cursor(scheduleString, null, matcher, 0, first, first)) : List.of();
+        return stream(new FiringForecast(taskCalculator, cursors, Long.MAX_VALUE)).limit(count);
+    }
+
+    /**
+     * Every firing of the given tasks before the horizon, starting with the deadline each task is queued at
+     */
+    static @NotNull Stream<Firing> forecast(@NotNull TaskCalculator taskCalculator, @NotNull Collection<ScheduleTask> tasks, long horizon) {
+        List<Cursor> cursors = new ArrayList<>(tasks.size());
+        for (ScheduleTask task : tasks) {
+            long deadline = task.getDeadline();
+            if (deadline == ScheduleMatcher.NONE || deadline >= horizon || task.isCancelled()) continue;
+
+            cursors.add(new Cursor(task.getScheduleString(), task, task.getMatcher(), task.getSpreadOffset(), deadline, task.getPlannedDeadline()));
+        }
+
+        return stream(new FiringForecast(taskCalculator, cursors, horizon));
+    }
+
+    private static @NotNull Stream<Firing> stream(@NotNull FiringForecast forecast) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(forecast, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        Cursor head = cursors.peek();
+        return head != null && head.deadline < horizon;
+    }
+
+    @Override
+    public Firing next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        Cursor head = cursors.poll();
+        Firing firing = new Firing(head.scheduleString, head.task, head.deadline);
+        if (advance(head)) cursors.add(head);
+
+        return firing;
+    }
+
+    /**
+     * Move the cursor to its following firing: the planned deadline if a retry or a deferral moved the
+     * current one, otherwise the schedule's next deadline after it
+     *
+     * @return Whether the schedule fires again
+     */
+    private boolean advance(@NotNull Cursor cursor) {
+        if (cursor.planned > cursor.deadline) {
+            cursor.deadline = cursor.planned;
+            return true;
+        }
+
+        if (cursor.matcher.getType() == ScheduleType.ONCE) return false;
+
+        long previous = cursor.planned - cursor.offset;
+        long next = taskCalculator.calculateNextExecution(cursor.matcher, previous, previous);
+        if (next == ScheduleMatcher.NONE || next + cursor.offset <= cursor.planned) return false;
+
+        cursor.planned = next + cursor.offset;
+        cursor.deadline = cursor.planned;
+        return true;
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final String scheduleString;
+        private final ScheduleTask task;
+        private final ScheduleMatcher matcher;
+        private final long offset;
+        private long deadline;
+        private long planned;
+
+        private Cursor(String scheduleString, ScheduleTask task, ScheduleMatcher matcher, long offset, long deadline, long planned) {
+            this.scheduleString = scheduleString;
+            this.task = task;
+            this.matcher = matcher;
+            this.offset = offset;
+            this.deadline = deadline;
+            this.planned = planned;
+        }
+
+        @Override
+        public int compareTo(@NotNull Cursor other) {
+            return Long.compare(deadline, other.deadline);
+        }
+    }
+}
\ No newline at end of file
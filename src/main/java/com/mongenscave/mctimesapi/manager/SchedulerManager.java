@@ -1,123 +1,863 @@
 package com.mongenscave.mctimesapi.manager;
 
+import com.mongenscave.mctimesapi.cluster.ClusterCoordinator;
+import com.mongenscave.mctimesapi.dispatch.SyncDispatcher;
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.MisfirePolicy;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import com.mongenscave.mctimesapi.identifiers.RejectionPolicy;
 import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
 import com.mongenscave.mctimesapi.math.TaskCalculator;
-import com.mongenscave.mctimesapi.models.ScheduleConfig;
+import com.mongenscave.mctimesapi.metrics.MetricsSnapshot;
+import com.mongenscave.mctimesapi.metrics.SchedulerMetrics;
+import com.mongenscave.mctimesapi.metrics.TimesAPIMetrics;
+import com.mongenscave.mctimesapi.models.DeadLetter;
+import com.mongenscave.mctimesapi.models.Firing;
+import com.mongenscave.mctimesapi.models.RetryPolicy;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
 import com.mongenscave.mctimesapi.models.ScheduleTask;
+import com.mongenscave.mctimesapi.models.SchedulerSettings;
+import com.mongenscave.mctimesapi.persistence.ScheduleStore;
+import com.mongenscave.mctimesapi.persistence.TaskState;
+import com.mongenscave.mctimesapi.stream.FiringStream;
 import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import com.mongenscave.mctimesapi.simulation.VirtualClock;
+import com.mongenscave.mctimesapi.workflow.Workflow;
+import com.mongenscave.mctimesapi.workflow.WorkflowResult;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class SchedulerManager {
-    private final ConcurrentHashMap<String, ScheduleTask> activeTasks;
-    private final ScheduledExecutorService executorService;
-    private final ScheduledExecutorService asyncExecutorService;
+    private static final int MAX_CATCH_UP_RUNS = 10_000;
+
+    private final ConcurrentHashMap<Long, ScheduleTask> activeTasks;
+    private final ScheduledThreadPoolExecutor executorService;
+    private final ThreadPoolExecutor asyncExecutorService;
+    private final ExecutorService virtualExecutorService;
+    private final ExecutorService overflowExecutorService;
+    private final ExecutionMode executionMode;
+    private final SyncDispatcher syncDispatcher;
+    private final OverlapPolicy overlapPolicy;
+    private final RejectionPolicy rejectionPolicy;
+    private final MisfirePolicy misfirePolicy;
+    private final ScheduleStore scheduleStore;
+    private final Map<String, TaskState> recoveredStates;
+    private final ClusterCoordinator cluster;
+    private final ConcurrentHashMap<Object, Semaphore> groupLimits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Duration> groupSpreads = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FiringStream> streams = new ConcurrentHashMap<>();
+    private final Duration spread;
+    private final DispatchRateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    @Getter private final DeadLetterQueue deadLetters;
     private final TaskCalculator taskCalculator;
+    private final TaskQueue taskQueue;
+    private final TaskIndex taskIndex = new TaskIndex(this);
+    private final SchedulerMetrics metrics;
+    private ObjectName mbeanName;
+    @Getter private final Clock clock;
+    @Getter private final boolean simulated;
     private final AtomicBoolean running = new AtomicBoolean(true);
 
     public SchedulerManager() {
+        this(new SchedulerSettings());
+    }
+
+    public SchedulerManager(@NotNull SchedulerSettings settings) {
         this.activeTasks = new ConcurrentHashMap<>();
-        this.executorService = Executors.newScheduledThreadPool(2, r -> {
+        this.executorService = new ScheduledThreadPoolExecutor(2, r -> {
             Thread t = new Thread(r, "TimesAPI-Scheduler-Main");
             t.setDaemon(true);
             return t;
         });
-        this.asyncExecutorService = Executors.newScheduledThreadPool(4, r -> {
+        this.asyncExecutorService = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.getAsyncQueueCapacity()), r -> {
             Thread t = new Thread(r, "TimesAPI-Async-Worker");
             t.setDaemon(true);
             return t;
+        }, new RejectionHandler());
+        this.overflowExecutorService = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "TimesAPI-Async-Overflow");
+            t.setDaemon(true);
+            return t;
         });
-        this.taskCalculator = new TaskCalculator();
+        this.virtualExecutorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("TimesAPI-Virtual-Worker-", 0).factory());
+        this.executionMode = settings.getExecutionMode() != ExecutionMode.DEFAULT ? settings.getExecutionMode() : ExecutionMode.PLATFORM;
+        this.syncDispatcher = settings.getSyncDispatcher();
+        this.overlapPolicy = settings.getOverlapPolicy() != OverlapPolicy.DEFAULT ? settings.getOverlapPolicy() : OverlapPolicy.ALLOW_CONCURRENT;
+        this.rejectionPolicy = settings.getRejectionPolicy();
+        this.misfirePolicy = settings.getMisfirePolicy() != MisfirePolicy.DEFAULT ? settings.getMisfirePolicy() : MisfirePolicy.FIRE_ONCE;
+        this.scheduleStore = settings.getScheduleStore();
+        this.recoveredStates = scheduleStore != null ? new ConcurrentHashMap<>(scheduleStore.load()) : new ConcurrentHashMap<>();
+        this.cluster = settings.getCluster();
+        this.spread = settings.getSpread();
+        this.rateLimiter = settings.getDispatchRateLimit() > 0 ? new DispatchRateLimiter(settings.getDispatchRateLimit(), settings.getDispatchRateInterval()) : null;
+        this.retryPolicy = settings.getRetryPolicy();
+        this.deadLetters = new DeadLetterQueue(settings.getDeadLetterCapacity());
+        this.clock = settings.getClock();
+        this.simulated = clock instanceof VirtualClock;
+        this.taskCalculator = new TaskCalculator(clock, settings.getZone() != null ? settings.getZone() : clock.getZone(), settings.getDstGapPolicy(), settings.getDstOverlapPolicy());
+        this.taskQueue = new TaskQueue(clock, settings.getTolerance());
+        this.metrics = new SchedulerMetrics(settings.isTaskHistograms());
 
-        startSchedulerLoop();
+        if (settings.getJmxName() != null) registerMBean(settings.getJmxName());
+        if (cluster != null) joinCluster();
+        if (!simulated) startSchedulerLoop();
     }
 
     public CompletableFuture<ScheduleTask> scheduleTask(String scheduleString, Runnable task, boolean async) {
+        return scheduleTask(ScheduleRequest.builder().scheduleString(scheduleString).task(task).async(async).build());
+    }
+
+    public CompletableFuture<ScheduleTask> scheduleTask(@NotNull ScheduleRequest request) {
         return CompletableFuture.supplyAsync(() -> {
-            ScheduleConfig config = ScheduleParser.parse(scheduleString);
-            ScheduleTask scheduleTask = new ScheduleTask(scheduleString, config, task, async);
+            ScheduleMatcher matcher = ScheduleParser.compile(request.getScheduleString());
+            ScheduleTask scheduleTask = new ScheduleTask(request, matcher, clock);
+
+            return register(scheduleTask, clock.millis());
+        }, executorService);
+    }
+
+    ScheduleTask register(@NotNull ScheduleTask scheduleTask, long now) {
+        if (!prepare(scheduleTask, now)) return scheduleTask;
+
+        track(scheduleTask);
+        taskQueue.add(scheduleTask);
+        persist(scheduleTask, scheduleTask.getLastExecutionMillis(), false);
+
+        return scheduleTask;
+    }
+
+    /**
+     * Resolves defaults and the first deadline, resuming from persisted state when the task has a key
+     *
+     * @return false if the task must not be scheduled, e.g. a one-time task that already fired before a restart
+     * or a schedule whose every remaining day is excluded
+     */
+    private boolean prepare(@NotNull ScheduleTask scheduleTask, long now) {
+        scheduleTask.attachMetrics(metrics);
+        scheduleTask.setZone(taskCalculator.zoneOf(scheduleTask.getMatcher()));
+        if (scheduleTask.getOverlapPolicy() == OverlapPolicy.DEFAULT) scheduleTask.setOverlapPolicy(overlapPolicy);
+        if (scheduleTask.getMisfirePolicy() == MisfirePolicy.DEFAULT) scheduleTask.setMisfirePolicy(misfirePolicy);
+        scheduleTask.setSpreadOffset(spreadOffset(scheduleTask));
+        scheduleTask.setFailureHandler(this::onFailure);
+
+        TaskState state = scheduleTask.getKey() != null ? recoveredStates.remove(scheduleTask.getKey()) : null;
+        long deadline;
+        if (state == null || !state.scheduleString().equals(scheduleTask.getScheduleString())) {
+            deadline = taskCalculator.calculateNextExecution(scheduleTask.getMatcher(), now, ScheduleMatcher.NONE);
+            if (deadline != ScheduleMatcher.NONE) deadline += scheduleTask.getSpreadOffset();
+        } else {
+            scheduleTask.restore(state);
+            deadline = state.completed() ? ScheduleMatcher.NONE : recoverDeadline(scheduleTask, state, now);
+        }
+
+        if (deadline == ScheduleMatcher.NONE) {
+            scheduleTask.cancel();
+            scheduleTask.detachMetrics();
+            return false;
+        }
+
+        scheduleTask.setDeadline(deadline);
+        return true;
+    }
+
+    private long recoverDeadline(@NotNull ScheduleTask scheduleTask, @NotNull TaskState state, long now) {
+        long missed = state.deadline();
+
+        if (missed == ScheduleMatcher.NONE) return nextDeadline(scheduleTask, now, state.lastFired());
+        if (missed > now) return missed;
+
+        return switch (scheduleTask.getMisfirePolicy()) {
+            case SKIP -> scheduleTask.getMatcher().getType() == ScheduleType.ONCE ? ScheduleMatcher.NONE : nextDeadline(scheduleTask, now, missed);
+            case FIRE_ALL -> {
+                scheduleTask.setCatchUpRuns(countMissedRuns(scheduleTask, missed, now) - 1);
+                yield missed;
+            }
+            default -> now;
+        };
+    }
+
+    private int countMissedRuns(@NotNull ScheduleTask scheduleTask, long first, long now) {
+        if (scheduleTask.getMatcher().getType() == ScheduleType.ONCE) return 1;
+
+        int missed = 0;
+        for (long deadline = first; deadline != ScheduleMatcher.NONE && deadline <= now && missed < MAX_CATCH_UP_RUNS; deadline = nextDeadline(scheduleTask, deadline, deadline)) missed++;
+        return missed;
+    }
+
+    /**
+     * The schedule is evaluated without the task's spread offset and the offset is added back afterwards,
+     * so spreading never shifts an interval's phase or skips the slot whose window is still open
+     *
+     * @param previous The spread deadline that just fired, or {@link ScheduleMatcher#NONE}
+     */
+    private long nextDeadline(@NotNull ScheduleTask scheduleTask, long now, long previous) {
+        long offset = scheduleTask.getSpreadOffset();
+        long next = taskCalculator.calculateNextExecution(scheduleTask.getMatcher(), now - offset, previous != ScheduleMatcher.NONE ? previous - offset : ScheduleMatcher.NONE);
+        return next != ScheduleMatcher.NONE ? next + offset : ScheduleMatcher.NONE;
+    }
+
+    /**
+     * @return A stable offset inside the task's spread window. Keyed tasks hash their key, so the offset
+     * survives restarts and is the same on every node of a cluster
+     */
+    private long spreadOffset(@NotNull ScheduleTask scheduleTask) {
+        Duration window = scheduleTask.getSpread();
+        if (window == null && scheduleTask.getOwner() != null) window = groupSpreads.get(scheduleTask.getOwner());
+        if (window == null) window = spread;
 
-            LocalDateTime nextExecution = taskCalculator.calculateNextExecution(config);
-            scheduleTask.setNextExecution(nextExecution);
+        long millis = window.toMillis();
+        if (millis <= 0) return 0;
 
-            activeTasks.put(scheduleTask.getId(), scheduleTask);
+        long hash = scheduleTask.getKey() != null ? scheduleTask.getKey().hashCode() : scheduleTask.getId();
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return Math.floorMod(hash ^ (hash >>> 31), millis);
+    }
+
+    private void persist(@NotNull ScheduleTask scheduleTask, long lastFired, boolean completed) {
+        if (scheduleStore != null && scheduleTask.getKey() != null && !scheduleTask.isCancelled()) scheduleStore.save(scheduleTask.toState(lastFired, completed));
+    }
+
+    /**
+     * Registers a batch of tasks with one future. Schedules are parsed and their first
+     * deadlines computed in parallel against a shared timestamp, then the whole batch is
+     * inserted into the task queue at once. If any schedule fails to parse, nothing is registered.
+     *
+     * @return The tasks that were scheduled, in request order. Tasks with no remaining deadline, e.g. a
+     * one-time task that already fired before a restart, are left out
+     */
+    public CompletableFuture<List<ScheduleTask>> scheduleAll(@NotNull Collection<ScheduleRequest> requests) {
+        List<ScheduleRequest> snapshot = List.copyOf(requests);
+
+        return CompletableFuture.supplyAsync(() -> registerAll(compileAll(snapshot)), ForkJoinPool.commonPool());
+    }
 
-            return scheduleTask;
+    /**
+     * Cancel some tasks and register others in one step, e.g. when a schedule file changes. Every schedule is
+     * compiled before anything is cancelled, so if one fails to parse, nothing changes
+     *
+     * @return The tasks that were scheduled, in request order, leaving out those with no remaining deadline
+     */
+    public CompletableFuture<List<ScheduleTask>> replaceTasks(@NotNull Collection<ScheduleTask> cancelled, @NotNull Collection<ScheduleRequest> added) {
+        List<ScheduleTask> removals = List.copyOf(cancelled);
+        List<ScheduleRequest> snapshot = List.copyOf(added);
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<ScheduleTask> tasks = compileAll(snapshot);
+            removals.forEach(this::cancel);
+            return registerAll(tasks);
         }, executorService);
     }
 
+    private @NotNull List<ScheduleTask> compileAll(@NotNull List<ScheduleRequest> requests) {
+        return requests.parallelStream()
+                .map(request -> new ScheduleTask(request, ScheduleParser.compile(request.getScheduleString()), clock))
+                .toList();
+    }
+
+    private @NotNull List<ScheduleTask> registerAll(@NotNull List<ScheduleTask> tasks) {
+        long now = clock.millis();
+        tasks.parallelStream().forEach(scheduleTask -> prepare(scheduleTask, now));
+
+        List<ScheduleTask> scheduled = new ArrayList<>(tasks.size());
+        for (ScheduleTask scheduleTask : tasks) {
+            if (scheduleTask.isCancelled()) continue;
+
+            track(scheduleTask);
+            persist(scheduleTask, scheduleTask.getLastExecutionMillis(), false);
+            scheduled.add(scheduleTask);
+        }
+
+        taskQueue.addAll(scheduled);
+
+        return scheduled;
+    }
+
+    /**
+     * Fire the workflow on the given schedule. Its steps run on the async executor; a firing while the previous run
+     * is still going is skipped. The task is grouped under the workflow, so {@code cancelGroup(workflow)} stops it
+     */
+    public CompletableFuture<ScheduleTask> scheduleWorkflow(@NotNull String scheduleString, @NotNull Workflow workflow) {
+        return scheduleTask(ScheduleRequest.builder().scheduleString(scheduleString).task(() -> runWorkflow(workflow)).async(true).owner(workflow).build());
+    }
+
+    /**
+     * Run the workflow once, now
+     *
+     * @return The run's result, or null if the previous run is still going
+     */
+    public CompletableFuture<WorkflowResult> runWorkflow(@NotNull Workflow workflow) {
+        return workflow.start(this::executeStep);
+    }
+
+    /**
+     * Publish the firings of the schedule. Streams are shared per schedule string, so any number of subscribers
+     * cost one registered task. An existing stream keeps the buffer capacity it was opened with
+     *
+     * @param bufferCapacity Firings buffered per subscriber before further ones are dropped
+     * @throws com.mongenscave.mctimesapi.exceptions.ScheduleParseException if the schedule string is invalid
+     */
+    public @NotNull FiringStream stream(@NotNull String scheduleString, int bufferCapacity) {
+        FiringStream existing = streams.get(scheduleString);
+        if (existing != null) return existing;
+
+        ScheduleParser.compile(scheduleString);
+        FiringStream stream = new FiringStream(scheduleString, clock, simulated ? Runnable::run : virtualExecutorService, bufferCapacity, this::closeStream);
+        existing = streams.putIfAbsent(scheduleString, stream);
+        if (existing != null) return existing;
+
+        scheduleTask(ScheduleRequest.builder()
+                .scheduleString(scheduleString)
+                .callback(stream::publish)
+                .async(true)
+                .executionMode(ExecutionMode.VIRTUAL)
+                .owner(stream)
+                .build())
+                .whenComplete((task, exception) -> {
+                    if (exception != null) {
+                        System.err.println("Failed to open stream '" + scheduleString + "': " + exception.getMessage());
+                        stream.close();
+                        return;
+                    }
+
+                    stream.attach(task);
+                    if (stream.isClosed()) cancel(task);
+                });
+
+        return stream;
+    }
+
+    private void closeStream(@NotNull FiringStream stream) {
+        streams.remove(stream.getScheduleString(), stream);
+
+        ScheduleTask task = stream.getTask();
+        if (task != null) cancel(task);
+    }
+
     public CompletableFuture<ScheduleTask> scheduleTaskWithCallback(String scheduleString, Consumer<ScheduleTask> taskConsumer, boolean async) {
-        return scheduleTask(scheduleString, () -> {
-            ScheduleTask currentTask = getCurrentTask(scheduleString);
-            if (currentTask != null) taskConsumer.accept(currentTask);
-        }, async);
+        return scheduleTask(ScheduleRequest.builder().scheduleString(scheduleString).callback(taskConsumer).async(async).build());
     }
 
-    private ScheduleTask getCurrentTask(String scheduleString) {
-        return activeTasks.values().stream()
-                .filter(task -> task.getScheduleString().equals(scheduleString))
-                .findFirst()
-                .orElse(null);
+    public boolean cancelTask(long taskId) {
+        ScheduleTask task = activeTasks.get(taskId);
+        return task != null && cancel(task);
     }
 
+    /**
+     * @deprecated Task IDs are {@code long}s; use {@link #cancelTask(long)}
+     */
+    @Deprecated
     public boolean cancelTask(String taskId) {
-        ScheduleTask task = activeTasks.remove(taskId);
+        try {
+            return cancelTask(Long.parseLong(taskId));
+        } catch (NumberFormatException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Cancels every task registered under the given owner. Runs in time proportional to the
+     * group size and drops the group, its index entries and its queue slots immediately.
+     *
+     * @return the number of cancelled tasks
+     */
+    public int cancelGroup(@NotNull Object owner) {
+        TaskGroup group = taskIndex.removeGroup(owner);
+        if (group == null) return 0;
+
+        int cancelled = 0;
+        for (ScheduleTask task : group.tasks()) if (cancel(task)) cancelled++;
+        group.tasks().clear();
+
+        return cancelled;
+    }
+
+    public TaskGroup getGroup(@NotNull Object owner) {
+        return taskIndex.group(owner);
+    }
+
+    /**
+     * Caps how many virtual-thread executions of the owner's tasks may run at once.
+     * Executions over the limit park their virtual thread until a permit frees up.
+     *
+     * @param permits the limit, or 0 to remove it
+     */
+    public void setGroupConcurrency(@NotNull Object owner, int permits) {
+        if (permits < 0) throw new IllegalArgumentException("Concurrency limit cannot be negative");
+
+        if (permits == 0) groupLimits.remove(owner);
+        else groupLimits.put(owner, new Semaphore(permits));
+    }
+
+    /**
+     * Spread the firings of the owner's tasks over the given window. Applies to tasks registered
+     * afterwards that do not set a spread themselves
+     *
+     * @param window the spread window, or {@code null} to fall back to the scheduler's spread
+     */
+    public void setGroupSpread(@NotNull Object owner, Duration window) {
+        if (window != null && window.isNegative()) throw new IllegalArgumentException("Spread window cannot be negative");
 
-        if (task != null) return task.cancel();
-        return false;
+        if (window == null) groupSpreads.remove(owner);
+        else groupSpreads.put(owner, window);
+    }
+
+    /**
+     * @return How many firings the dispatch rate limit has pushed back so far
+     */
+    public long getDeferredFirings() {
+        return rateLimiter != null ? rateLimiter.getDeferred() : 0;
+    }
+
+    /**
+     * Cancels every task carrying the given tag
+     *
+     * @return the number of cancelled tasks
+     */
+    public int cancelTag(@NotNull String tag) {
+        int cancelled = 0;
+        for (ScheduleTask task : taskIndex.byTag(tag)) if (cancel(task)) cancelled++;
+        return cancelled;
+    }
+
+    private boolean cancel(@NotNull ScheduleTask task) {
+        if (!untrack(task)) return false;
+
+        taskQueue.remove(task);
+        if (scheduleStore != null && task.getKey() != null) scheduleStore.remove(task.getKey());
+        task.detachMetrics();
+        return task.cancel();
+    }
+
+    public ScheduleTask getTask(long taskId) {
+        return activeTasks.get(taskId);
+    }
+
+    public @NotNull List<ScheduleTask> getTasksBySchedule(@NotNull String scheduleString) {
+        return taskIndex.bySchedule(scheduleString);
+    }
+
+    public @NotNull List<ScheduleTask> getTasksByTag(@NotNull String tag) {
+        return taskIndex.byTag(tag);
+    }
+
+    public @NotNull List<ScheduleTask> getTasksByType(@NotNull ScheduleType type) {
+        return taskIndex.byType(type);
+    }
+
+    /**
+     * The firings a task with this schedule would have if it were registered at {@code from}, computed as the stream is consumed
+     *
+     * @throws com.mongenscave.mctimesapi.exceptions.ScheduleParseException if the schedule string is invalid
+     */
+    public @NotNull Stream<Firing> preview(@NotNull String scheduleString, long from, int count) {
+        return FiringForecast.preview(taskCalculator, scheduleString, ScheduleParser.compile(scheduleString), from, count);
+    }
+
+    /**
+     * Every firing of the active tasks before {@code until}, merged in time order and computed as the stream is consumed.
+     * Spread offsets, deferrals and pending retries are included; the set of tasks is taken when the stream is created
+     */
+    public @NotNull Stream<Firing> forecast(long until) {
+        return FiringForecast.forecast(taskCalculator, activeTasks.values(), until);
     }
 
     public int getActiveTaskCount() {
         return activeTasks.size();
     }
 
+    private void track(@NotNull ScheduleTask task) {
+        activeTasks.put(task.getId(), task);
+        taskIndex.add(task);
+    }
+
+    private boolean untrack(@NotNull ScheduleTask task) {
+        if (!activeTasks.remove(task.getId(), task)) return false;
+
+        taskIndex.remove(task);
+        return true;
+    }
+
     private void startSchedulerLoop() {
-        executorService.scheduleAtFixedRate(() -> {
-            if (!running.get()) return;
+        executorService.execute(() -> {
+            List<ScheduleTask> dueTasks = new ArrayList<>();
 
-            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+            while (running.get()) {
+                long now;
+                try {
+                    now = taskQueue.awaitDue(dueTasks);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
 
-            activeTasks.values().parallelStream()
-                    .filter(task -> !task.isCancelled())
-                    .filter(task -> task.getNextExecution() != null)
-                    .filter(task -> !task.getNextExecution().isAfter(now))
-                    .forEach(task -> {
-                        try {
-                            if (task.isAsync()) CompletableFuture.runAsync(task::execute, asyncExecutorService);
-                            else task.execute();
+                if (now == ScheduleMatcher.NONE) break;
+                for (ScheduleTask task : dueTasks) dispatch(task, now);
+                dueTasks.clear();
+            }
+        });
+    }
+
+    private void joinCluster() {
+        cluster.heartbeat();
+        if (simulated) return;
+
+        long interval = cluster.getHeartbeatInterval().toMillis();
+        executorService.scheduleAtFixedRate(cluster::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Dispatches every task due at the given time, in epoch milliseconds, on the calling thread.
+     * Used by the simulation driver and benchmarks instead of the dispatch loop.
+     *
+     * @return the number of dispatched tasks
+     */
+    public int dispatchDue(long now) {
+        List<ScheduleTask> dueTasks = new ArrayList<>();
+        taskQueue.pollDue(now, dueTasks);
+
+        for (ScheduleTask task : dueTasks) dispatch(task, now);
+        return dueTasks.size();
+    }
+
+    public long getNextDeadline() {
+        return taskQueue.peekDeadline();
+    }
+
+    public @NotNull MetricsSnapshot getMetricsSnapshot() {
+        return new MetricsSnapshot(clock.millis(),
+                activeTasks.size(),
+                taskQueue.size(),
+                metrics.poolSnapshot(executorService, false),
+                metrics.poolSnapshot(asyncExecutorService, true),
+                metrics.getTotal().snapshot(),
+                metrics.scheduleSnapshots());
+    }
+
+    private void dispatch(@NotNull ScheduleTask task, long now) {
+        if (task.isCancelled()) return;
+
+        if (task.takeRetry()) {
+            dispatchRetry(task);
+            return;
+        }
+
+        long firedDeadline = task.getPlannedDeadline();
+
+        try {
+            boolean global = task.isGlobal() && cluster != null;
+            if (rateLimiter != null && !task.isDeferred()) {
+                long slot = rateLimiter.reserve(now);
+                if (slot > now) {
+                    task.defer(slot);
+                    taskQueue.add(task);
+                    return;
+                }
+            }
+
+            if (global) claimAndRun(task, firedDeadline);
+            else runFiring(task, firedDeadline);
+
+            if (task.getMatcher().getType() != ScheduleType.ONCE) {
+                long base = now;
+                if (task.getCatchUpRuns() > 0) {
+                    task.setCatchUpRuns(task.getCatchUpRuns() - 1);
+                    base = firedDeadline;
+                }
+
+                long next = nextDeadline(task, base, firedDeadline);
+                if (next != ScheduleMatcher.NONE) {
+                    task.setDeadline(next);
+                    if (!task.isCancelled()) taskQueue.add(task);
+                    persist(task, firedDeadline, false);
+                } else {
+                    finish(task, firedDeadline);
+                }
+            } else {
+                finish(task, firedDeadline);
+            }
+        } catch (Exception exception) {
+            System.err.println("Error executing scheduled task: " + exception.getMessage());
+        }
+    }
+
+    private void runFiring(@NotNull ScheduleTask task, long firedDeadline) {
+        long ticket = task.admit(firedDeadline);
+        if (ticket != ScheduleTask.NOT_ADMITTED) execute(task, () -> task.run(firedDeadline, ticket));
+    }
+
+    /**
+     * Claim a global task's firing on a virtual thread, since a lease provider may block on file or network I/O,
+     * and run it from there if this node won. The dispatch loop moves on to the next deadline meanwhile
+     */
+    private void claimAndRun(@NotNull ScheduleTask task, long firedDeadline) {
+        Runnable claim = () -> {
+            try {
+                if (cluster.claim(task.getKey())) runFiring(task, firedDeadline);
+            } catch (Exception exception) {
+                System.err.println("Error claiming scheduled task '" + task.getKey() + "': " + exception.getMessage());
+            }
+        };
+
+        if (simulated) claim.run();
+        else {
+            try {
+                virtualExecutorService.execute(claim);
+            } catch (RejectedExecutionException exception) {
+                if (running.get()) System.err.println("Failed to claim scheduled task '" + task.getKey() + "': " + exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run a retry of a failed firing, then put the task back on its planned deadline, or drop it again if its
+     * schedule had ended. Retries skip the cluster claim and the rate limit, since the firing they repeat passed both
+     */
+    private void dispatchRetry(@NotNull ScheduleTask task) {
+        long retryDeadline = task.getDeadline();
+
+        try {
+            long ticket = task.admit(retryDeadline);
+            if (ticket != ScheduleTask.NOT_ADMITTED) execute(task, () -> task.run(retryDeadline, ticket));
+
+            if (task.getPlannedDeadline() > retryDeadline) {
+                task.setDeadline(task.getPlannedDeadline());
+                if (!task.isCancelled()) taskQueue.add(task);
+            } else {
+                finish(task, task.getPlannedDeadline());
+            }
+        } catch (Exception exception) {
+            System.err.println("Error retrying scheduled task: " + exception.getMessage());
+        }
+    }
+
+    private void execute(@NotNull ScheduleTask task, @NotNull Runnable run) {
+        if (!task.isAsync()) syncDispatcher.dispatch(task, run);
+        else if (simulated) run.run();
+        else if (resolveMode(task) == ExecutionMode.VIRTUAL) executeVirtual(task, run);
+        else asyncExecutorService.execute(new AsyncRun(task, run));
+    }
+
+    /**
+     * Drop a task whose schedule has ended, unless a retry of its last run is still pending
+     */
+    private void finish(@NotNull ScheduleTask task, long firedDeadline) {
+        untrack(task);
+
+        if (taskQueue.finish(task)) {
+            track(task);
+            return;
+        }
+
+        persist(task, firedDeadline, true);
+        task.detachMetrics();
+    }
+
+    /**
+     * Called on the thread of a failed run. Schedules the next retry, or dead-letters the firing once its retries are used up
+     */
+    private void onFailure(@NotNull ScheduleTask task, @NotNull Exception exception) {
+        RetryPolicy policy = task.getRetryPolicy() != null ? task.getRetryPolicy() : retryPolicy;
+        if (policy.getMaxAttempts() == 0 || task.isCancelled() || !running.get()) return;
 
-                            if (task.getConfig().getType() != ScheduleType.ONCE) {
-                                LocalDateTime nextExecution = taskCalculator.calculateNextExecution(task.getConfig());
-                                task.setNextExecution(nextExecution);
-                            } else activeTasks.remove(task.getId());
-                        } catch (Exception exception) {
-                            System.err.println("Error executing scheduled task: " + exception.getMessage());
-                        }
-                    });
+        int attempt = task.getConsecutiveFailures();
+        long now = clock.millis();
 
-        }, 0, 30, TimeUnit.SECONDS);
+        if (attempt > policy.getMaxAttempts()) {
+            task.resetFailures();
+            task.clearRetry();
+            deadLetters.add(task, task.getFailedDeadline(), now, attempt, exception);
+            return;
+        }
+
+        task.scheduleRetry(now + policy.delayMillis(attempt));
+        if (taskQueue.retry(task)) track(task);
+    }
+
+    /**
+     * Run a dead-lettered firing once more, now. A failure goes through the task's retry policy again
+     *
+     * @return Whether the dead letter existed
+     */
+    public boolean replayDeadLetter(long id) {
+        DeadLetter letter = deadLetters.remove(id);
+        if (letter == null) return false;
+
+        replay(letter);
+        return true;
+    }
+
+    /**
+     * Replay every dead letter, oldest first
+     *
+     * @return The number of replayed firings
+     */
+    public int replayDeadLetters() {
+        List<DeadLetter> letters = deadLetters.drain();
+        letters.forEach(this::replay);
+        return letters.size();
+    }
+
+    private void replay(@NotNull DeadLetter letter) {
+        ScheduleTask task = letter.task();
+        long ticket = task.admit(letter.deadline());
+        if (ticket != ScheduleTask.NOT_ADMITTED) execute(task, () -> task.run(letter.deadline(), ticket));
+    }
+
+    private @NotNull ExecutionMode resolveMode(@NotNull ScheduleTask task) {
+        return task.getExecutionMode() != ExecutionMode.DEFAULT ? task.getExecutionMode() : executionMode;
+    }
+
+    private void executeVirtual(@NotNull ScheduleTask task, @NotNull Runnable run) {
+        Semaphore limit = task.getOwner() != null ? groupLimits.get(task.getOwner()) : null;
+        if (limit == null) {
+            virtualExecutorService.execute(run);
+            return;
+        }
+
+        virtualExecutorService.execute(() -> {
+            try {
+                limit.acquire();
+            } catch (InterruptedException exception) {
+                task.reject();
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                run.run();
+            } finally {
+                limit.release();
+            }
+        });
+    }
+
+    private void executeStep(@NotNull Runnable step) {
+        if (simulated) step.run();
+        else if (executionMode == ExecutionMode.VIRTUAL) virtualExecutorService.execute(step);
+        else asyncExecutorService.execute(step);
+    }
+
+    private void reject(@NotNull Runnable runnable) {
+        metrics.recordRejected(true);
+        if (runnable instanceof AsyncRun asyncRun) asyncRun.task().reject();
+        else if (runnable instanceof Workflow.StepExecution step) step.reject(new RejectedExecutionException("Async queue is full"));
+    }
+
+    private record AsyncRun(@NotNull ScheduleTask task, @NotNull Runnable execution) implements Runnable {
+        @Override
+        public void run() {
+            execution.run();
+        }
+    }
+
+    /**
+     * Run work the async pool turned away on the overflow thread, never on the dispatch loop,
+     * so a slow task cannot hold up every other schedule
+     */
+    private void overflow(@NotNull Runnable runnable) {
+        try {
+            overflowExecutorService.execute(runnable);
+        } catch (RejectedExecutionException exception) {
+            reject(runnable);
+        }
+    }
+
+    private final class RejectionHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                reject(runnable);
+                return;
+            }
+
+            switch (rejectionPolicy) {
+                case CALLER_RUNS -> overflow(runnable);
+                case DISCARD_OLDEST -> {
+                    Runnable oldest = executor.getQueue().poll();
+                    if (oldest != null) reject(oldest);
+                    executor.execute(runnable);
+                }
+                default -> reject(runnable);
+            }
+        }
     }
 
     public void shutdown() {
         running.set(false);
+        taskQueue.close();
 
+        streams.values().forEach(FiringStream::close);
         activeTasks.values().forEach(ScheduleTask::cancel);
         activeTasks.clear();
+        taskIndex.clear();
+        unregisterMBean();
+        syncDispatcher.close();
 
         shutdownExecutorService(executorService, "Main Scheduler");
         shutdownExecutorService(asyncExecutorService, "Async Worker");
+        shutdownExecutorService(overflowExecutorService, "Async Overflow");
+        shutdownExecutorService(virtualExecutorService, "Virtual Worker");
+
+        if (cluster != null) cluster.leave();
+
+        if (scheduleStore != null) scheduleStore.close();
+    }
+
+    private void registerMBean(@NotNull String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("com.mongenscave.mctimesapi:type=Scheduler,name=" + ObjectName.quote(name));
+
+            server.registerMBean(new TimesAPIMetrics(metrics.getTotal(), activeTasks::size, taskQueue::size,
+                    () -> metrics.poolSnapshot(executorService, false), () -> metrics.poolSnapshot(asyncExecutorService, true)), objectName);
+            mbeanName = objectName;
+        } catch (JMException exception) {
+            System.err.println("Failed to register TimesAPI metrics MBean: " + exception.getMessage());
+        }
+    }
+
+    private void unregisterMBean() {
+        if (mbeanName == null) return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        } catch (JMException exception) {
+            System.err.println("Failed to unregister TimesAPI metrics MBean: " + exception.getMessage());
+        }
+
+        mbeanName = null;
     }
 
-    private void shutdownExecutorService(@NotNull ScheduledExecutorService service, String name) {
+    private void shutdownExecutorService(@NotNull ExecutorService service, String name) {
         service.shutdown();
         try {
             if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -0,0 +1,57 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handle to every active task registered under one owner. The group is dropped from the
+ * scheduler as soon as it is cancelled or its last task ends.
+ */
+public final class TaskGroup {
+    @Getter private final Object owner;
+    private final Set<ScheduleTask> tasks = ConcurrentHashMap.newKeySet();
+    private final SchedulerManager schedulerManager;
+
+    TaskGroup(@NotNull Object owner, @NotNull SchedulerManager schedulerManager) {
+        this.owner = owner;
+        this.schedulerManager = schedulerManager;
+    }
+
+    public @NotNull List<ScheduleTask> getTasks() {
+        return List.copyOf(tasks);
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    /**
+     * Cancel every task in this group
+     *
+     * @return the number of cancelled tasks
+     */
+    public int cancel() {
+        return schedulerManager.cancelGroup(owner);
+    }
+
+    boolean add(@NotNull ScheduleTask task) {
+        return tasks.add(task);
+    }
+
+    boolean remove(@NotNull ScheduleTask task) {
+        return tasks.remove(task);
+    }
+
+    @NotNull Set<ScheduleTask> tasks() {
+        return tasks;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes over the active tasks, maintained on insert and removal so lookups
+ * cost time proportional to the result instead of a scan over every task.
+ */
+final class TaskIndex {
+    private final Map<String, Set<ScheduleTask>> bySchedule = new ConcurrentHashMap<>();
+    private final Map<String, Set<ScheduleTask>> byTag = new ConcurrentHashMap<>();
+    private final Map<ScheduleType, Set<ScheduleTask>> byType = new EnumMap<>(ScheduleType.class);
+    private final Map<Object, TaskGroup> byOwner = new ConcurrentHashMap<>();
+    private final SchedulerManager schedulerManager;
+
+    TaskIndex(@NotNull SchedulerManager schedulerManager) {
+        this.schedulerManager = schedulerManager;
+        for (ScheduleType type : ScheduleType.values()) byType.put(type, ConcurrentHashMap.newKeySet());
+    }
+
+    void add(@NotNull ScheduleTask task) {
+        link(bySchedule, task.getScheduleString(), task);
+        for (String tag : task.getTags()) link(byTag, tag, task);
+        byType.get(task.getMatcher().getType()).add(task);
+
+        if (task.getOwner() != null) byOwner.compute(task.getOwner(), (owner, group) -> {
+            TaskGroup target = group != null ? group : new TaskGroup(owner, schedulerManager);
+            target.add(task);
+            return target;
+        });
+    }
+
+    void remove(@NotNull ScheduleTask task) {
+        unlink(bySchedule, task.getScheduleString(), task);
+        for (String tag : task.getTags()) unlink(byTag, tag, task);
+        byType.get(task.getMatcher().getType()).remove(task);
+
+        if (task.getOwner() != null) byOwner.computeIfPresent(task.getOwner(), (owner, group) -> {
+            group.remove(task);
+            return group.isEmpty() ? null : group;
+        });
+    }
+
+    TaskGroup group(@NotNull Object owner) {
+        return byOwner.get(owner);
+    }
+
+    /**
+     * Detaches the owner's group so no new lookups see it; its tasks still need to be removed individually
+     */
+    TaskGroup removeGroup(@NotNull Object owner) {
+        return byOwner.remove(owner);
+    }
+
+    @NotNull List<ScheduleTask> bySchedule(@NotNull String scheduleString) {
+        return snapshot(bySchedule.get(scheduleString));
+    }
+
+    @NotNull List<ScheduleTask> byTag(@NotNull String tag) {
+        return snapshot(byTag.get(tag));
+    }
+
+    @NotNull List<ScheduleTask> byType(@NotNull ScheduleType type) {
+        return snapshot(byType.get(type));
+    }
+
+    void clear() {
+        bySchedule.clear();
+        byTag.clear();
+        byType.values().forEach(Set::clear);
+        byOwner.clear();
+    }
+
+    private static void link(@NotNull Map<String, Set<ScheduleTask>> index, @NotNull String key, @NotNull ScheduleTask task) {
+        index.compute(key, (ignored, tasks) -> {
+            Set<ScheduleTask> bucket = tasks != null ? tasks : ConcurrentHashMap.newKeySet();
+            bucket.add(task);
+            return bucket;
+        });
+    }
+
+    private static void unlink(@NotNull Map<String, Set<ScheduleTask>> index, @NotNull String key, @NotNull ScheduleTask task) {
+        index.computeIfPresent(key, (ignored, tasks) -> {
+            tasks.remove(task);
+            return tasks.isEmpty() ? null : tasks;
+        });
+    }
+
+    private static @NotNull List<ScheduleTask> snapshot(Set<ScheduleTask> tasks) {
+        return tasks != null ? List.copyOf(tasks) : List.of();
+    }
+}
\ No newline at end of file
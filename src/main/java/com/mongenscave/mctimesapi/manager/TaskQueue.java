@@ -0,0 +1,324 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Indexed binary min-heap of tasks ordered by their next execution.
+ * Every task remembers its slot, so insert and cancel are both O(log n)
+ * and the dispatcher only ever looks at the head of the heap.
+ */
+public class TaskQueue {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Clock clock;
+    private final long toleranceMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition headChanged = lock.newCondition();
+    private ScheduleTask[] heap = new ScheduleTask[INITIAL_CAPACITY];
+    private int size;
+    private boolean closed;
+
+    public TaskQueue(@NotNull Clock clock, @NotNull Duration tolerance) {
+        this.clock = clock;
+        this.toleranceMillis = Math.max(0, tolerance.toMillis());
+    }
+
+    public void add(@NotNull ScheduleTask task) {
+        lock.lock();
+        try {
+            if (closed || task.getQueueIndex() >= 0) return;
+
+            applyRetry(task);
+            insert(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move a task forward to its pending retry. A task that is being dispatched picks the retry up when it is added back
+     *
+     * @return true if the task had finished and was queued again for the retry, so the caller has to track it again
+     */
+    public boolean retry(@NotNull ScheduleTask task) {
+        lock.lock();
+        try {
+            if (closed) return false;
+
+            int index = task.getQueueIndex();
+            if (index >= 0) {
+                if (applyRetry(task)) {
+                    siftUp(index);
+                    if (heap[0] == task) headChanged.signal();
+                }
+                return false;
+            }
+
+            if (!task.isFinished()) return false;
+
+            task.setFinished(false);
+            task.defer(task.getRetryDeadline());
+            insert(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mark a task whose schedule has ended as finished, or queue it for its pending retry
+     *
+     * @return true if the task was queued for a retry
+     */
+    public boolean finish(@NotNull ScheduleTask task) {
+        lock.lock();
+        try {
+            if (closed) return false;
+
+            if (task.getRetryDeadline() == ScheduleMatcher.NONE) {
+                task.setFinished(true);
+                return false;
+            }
+
+            task.defer(task.getRetryDeadline());
+            insert(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a batch under a single lock acquisition. Large batches are appended and
+     * heapified bottom-up in O(n) instead of being sifted in one by one.
+     */
+    public void addAll(@NotNull Collection<ScheduleTask> tasks) {
+        lock.lock();
+        try {
+            if (closed || tasks.isEmpty()) return;
+
+            ScheduleTask previousHead = size > 0 ? heap[0] : null;
+            if (size + tasks.size() > heap.length) heap = Arrays.copyOf(heap, Math.max(heap.length << 1, size + tasks.size()));
+
+            if (tasks.size() > size) {
+                for (ScheduleTask task : tasks) {
+                    if (task.getQueueIndex() >= 0) continue;
+                    heap[size] = task;
+                    task.setQueueIndex(size++);
+                }
+                for (int i = (size >>> 1) - 1; i >= 0; i--) siftDown(i);
+            } else {
+                for (ScheduleTask task : tasks) {
+                    if (task.getQueueIndex() >= 0) continue;
+                    heap[size] = task;
+                    task.setQueueIndex(size);
+                    siftUp(size++);
+                }
+            }
+
+            if (size > 0 && heap[0] != previousHead) headChanged.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(@NotNull ScheduleTask task) {
+        lock.lock();
+        try {
+            int index = task.getQueueIndex();
+            if (index < 0 || index >= size || heap[index] != task) return false;
+
+            removeAt(index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until at least one task is due, then moves every task due within the tolerance into the sink.
+     *
+     * @return the shared dispatch time for the drained batch, or {@link ScheduleMatcher#NONE} once the queue has been closed
+     */
+    public long awaitDue(@NotNull List<ScheduleTask> sink) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (!closed) {
+                if (size == 0) {
+                    headChanged.await();
+                    continue;
+                }
+
+                long now = clock.millis();
+                long delay = heap[0].getDeadline() - now;
+
+                if (delay > toleranceMillis) {
+                    headChanged.awaitNanos(TimeUnit.MILLISECONDS.toNanos(delay));
+                    continue;
+                }
+
+                drain(now + toleranceMillis, sink);
+                return now;
+            }
+
+            return ScheduleMatcher.NONE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves every task due at or before the horizon into the sink without blocking
+     *
+     * @return the number of drained tasks
+     */
+    public int pollDue(long horizon, @NotNull List<ScheduleTask> sink) {
+        lock.lock();
+        try {
+            return drain(horizon, sink);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the earliest deadline in the queue, or {@link ScheduleMatcher#NONE} when it is empty
+     */
+    public long peekDeadline() {
+        lock.lock();
+        try {
+            return size > 0 ? heap[0].getDeadline() : ScheduleMatcher.NONE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (int i = 0; i < size; i++) {
+                heap[i].setQueueIndex(-1);
+                heap[i] = null;
+            }
+            size = 0;
+            headChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void insert(@NotNull ScheduleTask task) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size << 1);
+
+        heap[size] = task;
+        task.setQueueIndex(size);
+        siftUp(size++);
+
+        if (heap[0] == task) headChanged.signal();
+    }
+
+    /**
+     * @return Whether the task's deadline moved forward to its pending retry. A retry due after the
+     * regular deadline is dropped, since that firing comes first
+     */
+    private static boolean applyRetry(@NotNull ScheduleTask task) {
+        long retry = task.getRetryDeadline();
+        if (retry == ScheduleMatcher.NONE) return false;
+
+        if (retry < task.getDeadline()) {
+            task.defer(retry);
+            return true;
+        }
+
+        task.clearRetry();
+        return false;
+    }
+
+    private int drain(long horizon, @NotNull List<ScheduleTask> sink) {
+        int drained = 0;
+
+        while (size > 0 && heap[0].getDeadline() <= horizon) {
+            sink.add(removeAt(0));
+            drained++;
+        }
+
+        return drained;
+    }
+
+    private ScheduleTask removeAt(int index) {
+        ScheduleTask removed = heap[index];
+        ScheduleTask last = heap[--size];
+        heap[size] = null;
+        removed.setQueueIndex(-1);
+
+        if (index != size) {
+            heap[index] = last;
+            last.setQueueIndex(index);
+            siftDown(index);
+            if (heap[index] == last) siftUp(index);
+        }
+
+        return removed;
+    }
+
+    private void siftUp(int index) {
+        ScheduleTask task = heap[index];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            ScheduleTask parentTask = heap[parent];
+            if (compare(task, parentTask) >= 0) break;
+
+            heap[index] = parentTask;
+            parentTask.setQueueIndex(index);
+            index = parent;
+        }
+
+        heap[index] = task;
+        task.setQueueIndex(index);
+    }
+
+    private void siftDown(int index) {
+        ScheduleTask task = heap[index];
+        int half = size >>> 1;
+
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && compare(heap[right], heap[child]) < 0) child = right;
+            if (compare(task, heap[child]) <= 0) break;
+
+            heap[index] = heap[child];
+            heap[index].setQueueIndex(index);
+            index = child;
+        }
+
+        heap[index] = task;
+        task.setQueueIndex(index);
+    }
+
+    private static int compare(@NotNull ScheduleTask first, @NotNull ScheduleTask second) {
+        return Long.compare(first.getDeadline(), second.getDeadline());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.mongenscave.mctimesapi.math;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Primitive calendar arithmetic on a millisecond timeline.
+ * Civil date conversions follow Howard Hinnant's days_from_civil / civil_from_days algorithms,
+ * so none of the helpers allocate.
+ */
+public final class CalendarMath {
+    public static final long MILLIS_PER_SECOND = 1_000L;
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private CalendarMath() {}
+
+    public static long toMillis(@NotNull LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MILLIS_PER_SECOND + dateTime.getNano() / 1_000_000;
+    }
+
+    public static @NotNull LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, MILLIS_PER_SECOND),
+                (int) Math.floorMod(millis, MILLIS_PER_SECOND) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public static long epochDay(long millis) {
+        return Math.floorDiv(millis, MILLIS_PER_DAY);
+    }
+
+    public static long millisOfDay(long millis) {
+        return Math.floorMod(millis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * @return 0 for Monday through 6 for Sunday, matching {@code DayOfWeek.ordinal()}
+     */
+    public static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7);
+    }
+
+    public static long daysFromCivil(long year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    /**
+     * @return the year and month of the given epoch day packed as {@code year * 12 + (month - 1)}
+     */
+    public static long yearMonth(long epochDay) {
+        long shifted = epochDay + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        long dayOfEra = shifted - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthPart = (5 * dayOfYear + 2) / 153;
+        int month = (int) (monthPart < 10 ? monthPart + 3 : monthPart - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + (month - 1);
+    }
+
+    public static long firstDayOfYearMonth(long yearMonth) {
+        return daysFromCivil(Math.floorDiv(yearMonth, 12), (int) Math.floorMod(yearMonth, 12) + 1, 1);
+    }
+
+    public static int lengthOfYearMonth(long yearMonth) {
+        return (int) (firstDayOfYearMonth(yearMonth + 1) - firstDayOfYearMonth(yearMonth));
+    }
+
+    /**
+     * Rotates a Monday-first weekday mask so that the given day becomes bit 0
+     * and returns how many days ahead the next matching day is, or -1 when the mask is empty.
+     */
+    public static int daysUntilMatch(int dayMask, int fromDayOfWeek) {
+        if ((dayMask & 0x7F) == 0) return -1;
+
+        int rotated = ((dayMask >>> fromDayOfWeek) | (dayMask << (7 - fromDayOfWeek))) & 0x7F;
+        return Integer.numberOfTrailingZeros(rotated);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.mongenscave.mctimesapi.math;
+
+import com.mongenscave.mctimesapi.exceptions.ScheduleParseException;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import static com.mongenscave.mctimesapi.math.CalendarMath.MILLIS_PER_DAY;
+import static com.mongenscave.mctimesapi.math.CalendarMath.MILLIS_PER_SECOND;
+
+/**
+ * Cron expression compiled to one bitset per field:
+ * {@code [second] minute hour day-of-month month day-of-week}, with five or six fields.
+ * <p>
+ * Fields accept {@code *}, {@code ?}, lists, ranges and steps ({@code 1-5}, {@code *}{@code /15}, {@code 10-40/10}),
+ * month and weekday names, {@code L} for the last day of the month, {@code 5L} for the last Friday
+ * and {@code 2#3} for the third Tuesday. Weekdays count from Sunday = 0 (or 7).
+ * If both day fields are restricted, a day matching either of them fires, as in classic cron.
+ * <p>
+ * {@link #next(long)} never walks day by day: months are skipped by their bit, the matching days
+ * of a month are computed as one mask, and time fields jump to their next set bit.
+ * Even a sparse schedule like Feb 29 at 03:00 takes a handful of steps.
+ */
+public final class CronExpression {
+    private static final int SEARCH_YEARS = 400;
+    private static final long WEEKLY_PATTERN = 1L | 1L << 7 | 1L << 14 | 1L << 21 | 1L << 28;
+    private static final String[] MONTH_NAMES = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    @Getter private final String expression;
+    private long seconds;
+    private long minutes;
+    private long hours;
+    private long daysOfMonth;
+    private long months;
+    private int daysOfWeek;
+    private int lastWeekdays;
+    private long nthWeekdays;
+    private boolean lastDayOfMonth;
+    private boolean dayOfMonthRestricted;
+    private boolean dayOfWeekRestricted;
+
+    private CronExpression(@NotNull String expression) {
+        this.expression = expression;
+    }
+
+    public static @NotNull CronExpression parse(@NotNull String expression) {
+        return parse(expression, 0, expression.length());
+    }
+
+    /**
+     * Parse the expression found between {@code start} and {@code end} of a larger schedule string,
+     * so errors point into the original input
+     *
+     * @throws ScheduleParseException if a field is malformed or the expression can never fire
+     */
+    public static @NotNull CronExpression parse(@NotNull String input, int start, int end) {
+        String[] fields = new String[6];
+        int[] positions = new int[6];
+        int count = 0;
+
+        int cursor = start;
+        while (cursor < end) {
+            while (cursor < end && Character.isWhitespace(input.charAt(cursor))) cursor++;
+            if (cursor >= end) break;
+
+            int fieldStart = cursor;
+            while (cursor < end && !Character.isWhitespace(input.charAt(cursor))) cursor++;
+            if (count == 6) throw new ScheduleParseException("Cron expressions have five or six fields; the year field is not supported", input, fieldStart);
+
+            positions[count] = fieldStart;
+            fields[count++] = input.substring(fieldStart, cursor).toUpperCase();
+        }
+
+        if (count < 5) throw new ScheduleParseException("Cron expressions have five or six fields", input, cursor);
+
+        StringBuilder normalized = new StringBuilder();
+        for (int i = 0; i < count; i++) normalized.append(i > 0 ? " " : "").append(fields[i]);
+
+        CronExpression cron = new CronExpression(normalized.toString());
+        FieldParser parser = new FieldParser(input);
+        int offset = count == 6 ? 0 : -1;
+
+        cron.seconds = offset == 0 ? parser.field(fields[0], positions[0], 0, 59, null) : 1L;
+        cron.minutes = parser.field(fields[1 + offset], positions[1 + offset], 0, 59, null);
+        cron.hours = parser.field(fields[2 + offset], positions[2 + offset], 0, 23, null);
+        cron.parseDaysOfMonth(parser, fields[3 + offset], positions[3 + offset]);
+        cron.months = parser.field(fields[4 + offset], positions[4 + offset], 1, 12, MONTH_NAMES);
+        cron.parseDaysOfWeek(parser, fields[5 + offset], positions[5 + offset]);
+
+        if (cron.next(0) == ScheduleMatcher.NONE) throw new ScheduleParseException("Cron expression never fires", input, start);
+
+        return cron;
+    }
+
+    /**
+     * @param after A time on the local millisecond timeline
+     * @return The first matching second strictly after it, or {@link ScheduleMatcher#NONE} if none exists within 400 years
+     */
+    public long next(long after) {
+        long start = Math.floorDiv(after, MILLIS_PER_SECOND) * MILLIS_PER_SECOND + MILLIS_PER_SECOND;
+        long day = CalendarMath.epochDay(start);
+        int secondOfDay = (int) ((start - day * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+        long yearMonth = CalendarMath.yearMonth(day);
+        long limit = yearMonth + 12L * SEARCH_YEARS;
+
+        for (; yearMonth < limit; yearMonth++, secondOfDay = 0) {
+            if ((months & 1L << (Math.floorMod(yearMonth, 12) + 1)) == 0) continue;
+
+            long firstDay = CalendarMath.firstDayOfYearMonth(yearMonth);
+            int fromDay = day > firstDay ? (int) (day - firstDay) + 1 : 1;
+            long candidates = matchingDays(firstDay, CalendarMath.lengthOfYearMonth(yearMonth)) & -1L << fromDay;
+
+            while (candidates != 0) {
+                int dayOfMonth = Long.numberOfTrailingZeros(candidates);
+                int time = nextTime(dayOfMonth == fromDay ? secondOfDay : 0);
+                if (time >= 0) return (firstDay + dayOfMonth - 1) * MILLIS_PER_DAY + time * MILLIS_PER_SECOND;
+
+                candidates &= candidates - 1;
+            }
+        }
+
+        return ScheduleMatcher.NONE;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * @return Bit {@code d} set for every matching day {@code d} of the month
+     */
+    private long matchingDays(long firstDay, int length) {
+        long inMonth = ((1L << length) - 1) << 1;
+        if (!dayOfMonthRestricted && !dayOfWeekRestricted) return inMonth;
+
+        long byMonth = daysOfMonth | (lastDayOfMonth ? 1L << length : 0);
+        if (!dayOfWeekRestricted) return byMonth & inMonth;
+
+        int firstWeekday = CalendarMath.dayOfWeek(firstDay);
+        long byWeek = 0;
+
+        for (int weekday = 0; weekday < 7; weekday++) {
+            int firstOccurrence = Math.floorMod(weekday - firstWeekday, 7) + 1;
+
+            if ((daysOfWeek & 1 << weekday) != 0) byWeek |= WEEKLY_PATTERN << firstOccurrence;
+            if ((lastWeekdays & 1 << weekday) != 0) byWeek |= 1L << (firstOccurrence + (length - firstOccurrence) / 7 * 7);
+            for (int ordinal = 0; ordinal < 5; ordinal++) {
+                if ((nthWeekdays & 1L << (ordinal * 7 + weekday)) != 0) byWeek |= 1L << (firstOccurrence + ordinal * 7);
+            }
+        }
+
+        return (dayOfMonthRestricted ? byMonth | byWeek : byWeek) & inMonth;
+    }
+
+    /**
+     * @return The first matching second of the day at or after the given one, or -1
+     */
+    private int nextTime(int secondOfDay) {
+        int fromHour = secondOfDay / 3600;
+        int fromMinute = secondOfDay / 60 % 60;
+        int fromSecond = secondOfDay % 60;
+
+        for (int hour = nextBit(hours, fromHour); hour >= 0; hour = nextBit(hours, hour + 1)) {
+            boolean sameHour = hour == fromHour;
+
+            for (int minute = nextBit(minutes, sameHour ? fromMinute : 0); minute >= 0; minute = nextBit(minutes, minute + 1)) {
+                int second = nextBit(seconds, sameHour && minute == fromMinute ? fromSecond : 0);
+                if (second >= 0) return hour * 3600 + minute * 60 + second;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from >= 64) return -1;
+
+        long remaining = bits & -1L << from;
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    private void parseDaysOfMonth(@NotNull FieldParser parser, @NotNull String field, int position) {
+        if (field.equals("*") || field.equals("?")) return;
+
+        dayOfMonthRestricted = true;
+        int itemStart = position;
+        for (String item : field.split(",", -1)) {
+            if (item.equals("L")) lastDayOfMonth = true;
+            else if (item.endsWith("W")) throw parser.error("Nearest-weekday (W) is not supported", itemStart);
+            else daysOfMonth |= parser.field(item, itemStart, 1, 31, null);
+
+            itemStart += item.length() + 1;
+        }
+    }
+
+    private void parseDaysOfWeek(@NotNull FieldParser parser, @NotNull String field, int position) {
+        if (field.equals("*") || field.equals("?")) return;
+
+        dayOfWeekRestricted = true;
+        int itemStart = position;
+        for (String item : field.split(",", -1)) {
+            int hash = item.indexOf('#');
+
+            if (hash > 0) {
+                int weekday = mondayFirst(parser.value(item.substring(0, hash), itemStart, 0, 7, DAY_NAMES));
+                int ordinal = parser.value(item.substring(hash + 1), itemStart + hash + 1, 1, 5, null);
+                nthWeekdays |= 1L << ((ordinal - 1) * 7 + weekday);
+            } else if (item.length() > 1 && item.endsWith("L")) {
+                lastWeekdays |= 1 << mondayFirst(parser.value(item.substring(0, item.length() - 1), itemStart, 0, 7, DAY_NAMES));
+            } else {
+                long sundayFirst = parser.field(item, itemStart, 0, 7, DAY_NAMES);
+                for (int day = 0; day <= 7; day++) if ((sundayFirst & 1L << day) != 0) daysOfWeek |= 1 << mondayFirst(day);
+            }
+
+            itemStart += item.length() + 1;
+        }
+    }
+
+    private static int mondayFirst(int sundayFirst) {
+        return (sundayFirst + 6) % 7;
+    }
+
+    private record FieldParser(@NotNull String input) {
+        /**
+         * @return Bit {@code v} set for every value {@code v} the comma-separated field matches
+         */
+        private long field(@NotNull String field, int position, int min, int max, String[] names) {
+            long bits = 0;
+            int itemStart = position;
+
+            for (String item : field.split(",", -1)) {
+                bits |= item(item, itemStart, min, max, names);
+                itemStart += item.length() + 1;
+            }
+
+            return bits;
+        }
+
+        private long item(@NotNull String item, int position, int min, int max, String[] names) {
+            if (item.isEmpty()) throw error("Empty cron field item", position);
+
+            int slash = item.indexOf('/');
+            String range = slash >= 0 ? item.substring(0, slash) : item;
+            int step = slash >= 0 ? value(item.substring(slash + 1), position + slash + 1, 1, max, null) : 1;
+
+            int from;
+            int to;
+            if (range.equals("*") || range.equals("?")) {
+                from = min;
+                to = max;
+            } else {
+                int dash = range.indexOf('-', 1);
+                from = value(dash > 0 ? range.substring(0, dash) : range, position, min, max, names);
+                to = dash > 0 ? value(range.substring(dash + 1), position + dash + 1, min, max, names) : slash >= 0 ? max : from;
+                if (from > to) throw error("Range start must not be after its end", position);
+            }
+
+            long bits = 0;
+            for (int value = from; value <= to; value += step) bits |= 1L << value;
+            return bits;
+        }
+
+        private int value(@NotNull String text, int position, int min, int max, String[] names) {
+            if (names != null) {
+                for (int i = 0; i < names.length; i++) if (names[i].equals(text)) return i + (min == 1 ? 1 : 0);
+            }
+
+            try {
+                int value = Integer.parseInt(text);
+                if (value < min || value > max) throw error("Value " + value + " is outside " + min + "-" + max, position);
+                return value;
+            } catch (NumberFormatException exception) {
+                throw error("Invalid cron value '" + text + "'", position);
+            }
+        }
+
+        private @NotNull ScheduleParseException error(@NotNull String message, int position) {
+            return new ScheduleParseException(message, input, position);
+        }
+    }
+}
\ No newline at end of file
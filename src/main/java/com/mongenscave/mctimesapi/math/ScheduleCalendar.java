@@ -0,0 +1,64 @@
+package com.mongenscave.mctimesapi.math;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named set of dates that compound schedules can exclude, e.g. {@code EVERYDAY @ 09:00 EXCEPT HOLIDAYS}.
+ * Schedules look calendars up by name whenever they compute a deadline, so registering a calendar again
+ * under the same name updates every schedule that uses it. Names are case-insensitive.
+ */
+public final class ScheduleCalendar {
+    private static final Map<String, ScheduleCalendar> REGISTRY = new ConcurrentHashMap<>();
+
+    @Getter private final String name;
+    private final long[] epochDays;
+
+    private ScheduleCalendar(@NotNull String name, @NotNull Collection<LocalDate> dates) {
+        this.name = name;
+        this.epochDays = dates.stream().mapToLong(LocalDate::toEpochDay).sorted().distinct().toArray();
+    }
+
+    /**
+     * Register or replace a calendar
+     *
+     * @param name Letters and underscores only, so it can appear in a schedule string
+     */
+    public static @NotNull ScheduleCalendar register(@NotNull String name, @NotNull Collection<LocalDate> dates) {
+        if (name.isEmpty() || !name.chars().allMatch(character -> Character.isLetter(character) || character == '_')) {
+            throw new IllegalArgumentException("Calendar names may only contain letters and underscores: '" + name + "'");
+        }
+
+        String key = name.toUpperCase(Locale.ROOT);
+        ScheduleCalendar calendar = new ScheduleCalendar(key, dates);
+        REGISTRY.put(key, calendar);
+        return calendar;
+    }
+
+    public static ScheduleCalendar get(@NotNull String name) {
+        return REGISTRY.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    public static boolean unregister(@NotNull String name) {
+        return REGISTRY.remove(name.toUpperCase(Locale.ROOT)) != null;
+    }
+
+    public boolean contains(long epochDay) {
+        return Arrays.binarySearch(epochDays, epochDay) >= 0;
+    }
+
+    public boolean contains(@NotNull LocalDate date) {
+        return contains(date.toEpochDay());
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+}
\ No newline at end of file
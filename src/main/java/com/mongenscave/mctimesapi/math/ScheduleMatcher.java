@@ -0,0 +1,234 @@
+package com.mongenscave.mctimesapi.math;
+
+import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.models.ScheduleConfig;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.mongenscave.mctimesapi.math.CalendarMath.MILLIS_PER_DAY;
+
+/**
+ * Immutable, precompiled form of a {@link ScheduleConfig}.
+ * Weekday sets are a Monday-first bitmask and every time is a millisecond offset,
+ * so {@link #next(long, long)} runs purely on primitive epoch values.
+ * Wall-clock schedules work on the local timeline of a zone; {@link TaskCalculator} converts to and from instants.
+ */
+public final class ScheduleMatcher {
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final int WEEKDAY_MASK = 0b0011111;
+    private static final int WEEKEND_MASK = 0b1100000;
+    private static final long DEFAULT_INTERVAL = 3_600_000L;
+    private static final long ONCE_FALLBACK_DELAY = 60_000L;
+    private static final int MAX_MONTHS_WITHOUT_MATCH = 14;
+    private static final int MAX_EXCLUDED_DAYS = 3_660;
+
+    @Getter private final ScheduleConfig config;
+    @Getter private final ScheduleType type;
+    @Getter private final ZoneId zone;
+    private final long timeOfDay;
+    private final int dayMask;
+    private final int dayOfMonth;
+    private final boolean lastDayOfMonth;
+    private final int firstWeekdayOfMonth;
+    private final int lastWeekdayOfMonth;
+    private final int weekdayOrdinal;
+    private final long interval;
+    private final long onceDay;
+    private final long rangeStart;
+    private final long rangeEnd;
+    private final long rangeInterval;
+    private final CronExpression cron;
+    private final ScheduleMatcher[] alternatives;
+    private final int excludedDayMask;
+    private final long[] excludedDays;
+    private final String[] excludedCalendars;
+
+    private ScheduleMatcher(@NotNull ScheduleConfig config) {
+        this.config = config;
+        this.type = config.getType();
+        this.zone = config.getZone();
+        this.timeOfDay = millisOfDay(config.getTime());
+        this.dayMask = switch (type) {
+            case WEEKDAYS -> WEEKDAY_MASK;
+            case WEEKENDS -> WEEKEND_MASK;
+            case WEEKLY -> toMask(config.getDaysOfWeek());
+            default -> 0;
+        };
+        this.dayOfMonth = config.getDayOfMonth();
+        this.lastDayOfMonth = config.isLastDayOfMonth();
+        this.firstWeekdayOfMonth = config.getWeekdayOfMonth() != null ? config.getWeekdayOfMonth().ordinal()
+                : config.getFirstWeekdayOfMonth() != null ? config.getFirstWeekdayOfMonth().ordinal() : -1;
+        this.weekdayOrdinal = config.getWeekdayOfMonth() != null ? config.getWeekdayOrdinal() : 1;
+        this.lastWeekdayOfMonth = config.getLastWeekdayOfMonth() != null ? config.getLastWeekdayOfMonth().ordinal() : -1;
+        this.interval = toMillis(config.getIntervalDuration(), DEFAULT_INTERVAL);
+        this.onceDay = config.getSpecificDate() != null ? config.getSpecificDate().toEpochDay() : NONE;
+        this.rangeStart = millisOfDay(config.getStartTime());
+        this.rangeEnd = millisOfDay(config.getEndTime());
+        this.rangeInterval = config.getRangeInterval() != null ? toMillis(config.getRangeInterval(), DEFAULT_INTERVAL) : -1;
+        this.cron = config.getCron();
+        this.alternatives = config.getAlternatives() != null ? config.getAlternatives().stream().map(ScheduleMatcher::compile).toArray(ScheduleMatcher[]::new) : new ScheduleMatcher[0];
+        this.excludedDayMask = toMask(config.getExcludedDaysOfWeek());
+        this.excludedDays = config.getExcludedDates() != null ? config.getExcludedDates().stream().mapToLong(LocalDate::toEpochDay).sorted().toArray() : new long[0];
+        this.excludedCalendars = config.getExcludedCalendars() != null ? config.getExcludedCalendars().toArray(String[]::new) : new String[0];
+    }
+
+    public static @NotNull ScheduleMatcher compile(@NotNull ScheduleConfig config) {
+        if (config.getType() == null) throw new IllegalArgumentException("Schedule has no recognised type");
+        if (config.getType() == ScheduleType.CRON && config.getCron() == null) throw new IllegalArgumentException("Cron schedule has no expression");
+        return new ScheduleMatcher(config);
+    }
+
+    /**
+     * @return false for intervals, which advance by a fixed duration regardless of zone and DST
+     */
+    public boolean isWallClock() {
+        return type != ScheduleType.INTERVAL;
+    }
+
+    /**
+     * @param now the shared dispatch time on the local millisecond timeline
+     * @param previous the deadline that just fired, or {@link #NONE} for the first execution
+     * @return the next deadline on the same timeline, or {@link #NONE} if the schedule never fires again
+     */
+    public long next(long now, long previous) {
+        long base = previous != NONE && previous > now ? previous : now;
+        long time = timeOfDay >= 0 ? timeOfDay : CalendarMath.millisOfDay(now);
+
+        return switch (type) {
+            case DAILY -> nextDaily(base, time);
+            case WEEKDAYS, WEEKENDS, WEEKLY -> dayMask == 0 ? base + MILLIS_PER_DAY : nextOnDays(base, time);
+            case MONTHLY -> nextMonthly(base, time);
+            case INTERVAL -> previous == NONE ? now + interval : advancePast(previous, now, interval);
+            case ONCE -> onceDay != NONE ? onceDay * MILLIS_PER_DAY + time : now + ONCE_FALLBACK_DELAY;
+            case RANGE -> nextInRange(base, now, previous);
+            case CRON -> cron.next(base);
+            case COMPOUND -> nextCompound(base);
+        };
+    }
+
+    /**
+     * Earliest deadline of any alternative. Candidates on an excluded day restart the search
+     * at the end of that day, so exclusions cost one step per excluded day, not per firing.
+     */
+    private long nextCompound(long base) {
+        for (int attempt = 0; attempt < MAX_EXCLUDED_DAYS; attempt++) {
+            long next = NONE;
+            for (ScheduleMatcher alternative : alternatives) {
+                long candidate = alternative.next(base, base);
+                if (candidate != NONE && (next == NONE || candidate < next)) next = candidate;
+            }
+
+            if (next == NONE) return NONE;
+
+            long day = CalendarMath.epochDay(next);
+            if (!isExcluded(day)) return next;
+
+            base = (day + 1) * MILLIS_PER_DAY - 1;
+        }
+
+        return NONE;
+    }
+
+    private boolean isExcluded(long epochDay) {
+        if ((excludedDayMask & 1 << CalendarMath.dayOfWeek(epochDay)) != 0) return true;
+        if (excludedDays.length > 0 && Arrays.binarySearch(excludedDays, epochDay) >= 0) return true;
+
+        for (String name : excludedCalendars) {
+            ScheduleCalendar calendar = ScheduleCalendar.get(name);
+            if (calendar != null && calendar.contains(epochDay)) return true;
+        }
+
+        return false;
+    }
+
+    private static long nextDaily(long base, long time) {
+        long target = CalendarMath.epochDay(base) * MILLIS_PER_DAY + time;
+        return target <= base ? target + MILLIS_PER_DAY : target;
+    }
+
+    private long nextOnDays(long base, long time) {
+        long day = CalendarMath.epochDay(base);
+        if (day * MILLIS_PER_DAY + time <= base) day++;
+
+        day += CalendarMath.daysUntilMatch(dayMask, CalendarMath.dayOfWeek(day));
+        return day * MILLIS_PER_DAY + time;
+    }
+
+    private long nextMonthly(long base, long time) {
+        long baseDay = CalendarMath.epochDay(base);
+        long yearMonth = CalendarMath.yearMonth(baseDay);
+        int fallbackDay = (int) (baseDay - CalendarMath.firstDayOfYearMonth(yearMonth)) + 1;
+
+        for (int month = 0; month < MAX_MONTHS_WITHOUT_MATCH; month++, yearMonth++) {
+            long day = monthlyDay(yearMonth, fallbackDay);
+            if (day != NONE && day * MILLIS_PER_DAY + time > base) return day * MILLIS_PER_DAY + time;
+        }
+
+        return NONE;
+    }
+
+    private long monthlyDay(long yearMonth, int fallbackDay) {
+        long firstDay = CalendarMath.firstDayOfYearMonth(yearMonth);
+        int length = CalendarMath.lengthOfYearMonth(yearMonth);
+
+        if (lastDayOfMonth) return firstDay + length - 1;
+        if (dayOfMonth > 0) return firstDay + Math.min(dayOfMonth, length) - 1;
+        if (firstWeekdayOfMonth >= 0) {
+            int day = CalendarMath.daysUntilMatch(1 << firstWeekdayOfMonth, CalendarMath.dayOfWeek(firstDay)) + (weekdayOrdinal - 1) * 7;
+            return day < length ? firstDay + day : NONE;
+        }
+        if (lastWeekdayOfMonth >= 0) {
+            long lastDay = firstDay + length - 1;
+            return lastDay - Math.floorMod(CalendarMath.dayOfWeek(lastDay) - lastWeekdayOfMonth, 7);
+        }
+
+        return firstDay + Math.min(fallbackDay, length) - 1;
+    }
+
+    private long nextInRange(long base, long now, long previous) {
+        if (rangeStart < 0 || rangeEnd < 0) return now + DEFAULT_INTERVAL;
+
+        long today = CalendarMath.epochDay(base) * MILLIS_PER_DAY;
+        long timeOfBase = base - today;
+
+        if (timeOfBase < rangeStart) return today + rangeStart;
+        if (timeOfBase > rangeEnd) return today + MILLIS_PER_DAY + rangeStart;
+        if (rangeInterval < 0) return now + DEFAULT_INTERVAL;
+        if (previous == NONE) return base + rangeInterval;
+
+        long next = advancePast(previous, now, rangeInterval);
+        return next - today > rangeEnd ? today + MILLIS_PER_DAY + rangeStart : next;
+    }
+
+    private static long advancePast(long anchor, long now, long interval) {
+        long next = anchor + interval;
+        if (next > now) return next;
+
+        return next + ((now - next) / interval + 1) * interval;
+    }
+
+    private static long millisOfDay(LocalTime time) {
+        return time != null ? time.toNanoOfDay() / 1_000_000 : -1;
+    }
+
+    private static long toMillis(Duration duration, long fallback) {
+        return duration != null ? Math.max(1, duration.toMillis()) : fallback;
+    }
+
+    private static int toMask(Collection<DayOfWeek> days) {
+        if (days == null) return 0;
+
+        int mask = 0;
+        for (DayOfWeek day : days) mask |= 1 << day.ordinal();
+        return mask;
+    }
+}
\ No newline at end of file
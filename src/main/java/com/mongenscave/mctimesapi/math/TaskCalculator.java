@@ -1,115 +1,96 @@
 package com.mongenscave.mctimesapi.math;
 
+import com.mongenscave.mctimesapi.identifiers.DstGapPolicy;
+import com.mongenscave.mctimesapi.identifiers.DstOverlapPolicy;
 import com.mongenscave.mctimesapi.models.ScheduleConfig;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.DayOfWeek;
-import java.time.LocalDate;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.temporal.TemporalAdjusters;
+import java.time.ZoneId;
 
+/**
+ * Computes deadlines as epoch milliseconds. Wall-clock schedules are evaluated on the local timeline
+ * of their own zone, or the calculator's zone if the schedule has none, and resolved back to an instant
+ * with explicit rules for DST gaps and overlaps. Intervals run on the absolute timeline and ignore zones.
+ */
 public class TaskCalculator {
-    public LocalDateTime calculateNextExecution(@NotNull ScheduleConfig config) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalTime targetTime = config.getTime() != null ? config.getTime() : LocalTime.now();
-
-        return switch (config.getType()) {
-            case DAILY -> calculateDaily(now, targetTime);
-            case WEEKDAYS -> calculateWeekdays(now, targetTime);
-            case WEEKENDS -> calculateWeekends(now, targetTime);
-            case WEEKLY -> calculateWeekly(now, config);
-            case MONTHLY -> calculateMonthly(now, config);
-            case INTERVAL -> calculateInterval(now, config);
-            case ONCE -> calculateOnce(config);
-            case RANGE -> calculateRange(now, config);
-        };
-    }
-
-    private @NotNull LocalDateTime calculateDaily(@NotNull LocalDateTime now, LocalTime targetTime) {
-        LocalDateTime target = now.toLocalDate().atTime(targetTime);
-        if (target.isBefore(now) || target.equals(now)) target = target.plusDays(1);
-        return target;
-    }
-
-    private LocalDateTime calculateWeekdays(@NotNull LocalDateTime now, LocalTime targetTime) {
-        LocalDateTime target = now.toLocalDate().atTime(targetTime);
+    private static final int MAX_SKIPPED_GAPS = 8;
 
-        while (target.isBefore(now) || target.equals(now) ||
-                target.getDayOfWeek() == DayOfWeek.SATURDAY ||
-                target.getDayOfWeek() == DayOfWeek.SUNDAY) {
-            target = target.plusDays(1);
-        }
+    private final Clock clock;
+    @Getter private final ZoneId zone;
+    private final ZoneTimeline timeline;
+    private final DstGapPolicy gapPolicy;
+    private final DstOverlapPolicy overlapPolicy;
 
-        return target;
+    public TaskCalculator() {
+        this(Clock.systemDefaultZone());
     }
 
-    private LocalDateTime calculateWeekends(@NotNull LocalDateTime now, LocalTime targetTime) {
-        LocalDateTime target = now.toLocalDate().atTime(targetTime);
-
-        while (target.isBefore(now) || target.equals(now) ||
-                (target.getDayOfWeek() != DayOfWeek.SATURDAY && target.getDayOfWeek() != DayOfWeek.SUNDAY)) {
-            target = target.plusDays(1);
-        }
-
-        return target;
+    public TaskCalculator(@NotNull Clock clock) {
+        this(clock, clock.getZone(), DstGapPolicy.SHIFT_FORWARD, DstOverlapPolicy.EARLIER);
     }
 
-    private LocalDateTime calculateWeekly(LocalDateTime now, @NotNull ScheduleConfig config) {
-        if (config.getDaysOfWeek() == null || config.getDaysOfWeek().isEmpty()) {
-            return now.plusDays(1);
-        }
-
-        LocalTime targetTime = config.getTime() != null ? config.getTime() : LocalTime.now();
-        LocalDateTime target = now.toLocalDate().atTime(targetTime);
-
-        while (target.isBefore(now) || target.equals(now) ||
-                !config.getDaysOfWeek().contains(target.getDayOfWeek())) {
-            target = target.plusDays(1);
-        }
-
-        return target;
+    public TaskCalculator(@NotNull Clock clock, @NotNull ZoneId zone, @NotNull DstGapPolicy gapPolicy, @NotNull DstOverlapPolicy overlapPolicy) {
+        this.clock = clock;
+        this.zone = zone;
+        this.timeline = ZoneTimeline.of(zone);
+        this.gapPolicy = gapPolicy;
+        this.overlapPolicy = overlapPolicy;
     }
 
-    private @NotNull LocalDateTime calculateMonthly(@NotNull LocalDateTime now, @NotNull ScheduleConfig config) {
-        LocalTime targetTime = config.getTime() != null ? config.getTime() : LocalTime.now();
-        LocalDate targetDate = now.toLocalDate();
-
-        if (config.isLastDayOfMonth()) targetDate = targetDate.with(TemporalAdjusters.lastDayOfMonth());
-        else if (config.getDayOfMonth() > 0) targetDate = targetDate.withDayOfMonth(Math.min(config.getDayOfMonth(), targetDate.lengthOfMonth()));
-        else if (config.getFirstWeekdayOfMonth() != null) targetDate = targetDate.with(TemporalAdjusters.firstInMonth(config.getFirstWeekdayOfMonth()));
-        else if (config.getLastWeekdayOfMonth() != null) targetDate = targetDate.with(TemporalAdjusters.lastInMonth(config.getLastWeekdayOfMonth()));
-
-        LocalDateTime target = targetDate.atTime(targetTime);
-
-        if (target.isBefore(now) || target.equals(now)) target = target.plusMonths(1);
-        return target;
+    public LocalDateTime calculateNextExecution(@NotNull ScheduleConfig config) {
+        return calculateNextExecution(config, null);
     }
 
-    private LocalDateTime calculateInterval(LocalDateTime now, @NotNull ScheduleConfig config) {
-        if (config.getIntervalDuration() != null) return now.plus(config.getIntervalDuration());
-        return now.plusHours(1);
+    /**
+     * Calculates the execution following the given deadline. Intervals are anchored to the
+     * previous deadline instead of the current time, so repeated firings never drift.
+     * Both times are wall-clock times in the schedule's zone.
+     */
+    public LocalDateTime calculateNextExecution(@NotNull ScheduleConfig config, LocalDateTime previousExecution) {
+        ScheduleMatcher matcher = ScheduleMatcher.compile(config);
+        ZoneId effective = zoneOf(matcher);
+
+        long previous = previousExecution != null ? previousExecution.atZone(effective).toInstant().toEpochMilli() : ScheduleMatcher.NONE;
+        long next = calculateNextExecution(matcher, clock.millis(), previous);
+        return next != ScheduleMatcher.NONE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(next), effective) : null;
     }
 
-    private LocalDateTime calculateOnce(@NotNull ScheduleConfig config) {
-        if (config.getSpecificDate() != null) {
-            LocalTime time = config.getTime() != null ? config.getTime() : LocalTime.now();
-            return config.getSpecificDate().atTime(time);
+    /**
+     * Allocation-free variant used by the dispatcher, which evaluates every due task
+     * against one shared {@code now} per dispatch cycle.
+     *
+     * @param matcher The compiled schedule
+     * @param now The current time in epoch milliseconds
+     * @param previous The deadline that just fired, or {@link ScheduleMatcher#NONE}
+     * @return The next deadline in epoch milliseconds, always after {@code now}, or {@link ScheduleMatcher#NONE} if the schedule never fires again
+     */
+    public long calculateNextExecution(@NotNull ScheduleMatcher matcher, long now, long previous) {
+        if (!matcher.isWallClock()) return matcher.next(now, previous);
+
+        ZoneTimeline zoneTimeline = matcher.getZone() != null ? ZoneTimeline.of(matcher.getZone()) : timeline;
+        long localNow = zoneTimeline.toLocal(now);
+        long local = matcher.next(localNow, previous != ScheduleMatcher.NONE ? zoneTimeline.toLocal(previous) : ScheduleMatcher.NONE);
+
+        for (int attempt = 0; attempt < MAX_SKIPPED_GAPS; attempt++) {
+            if (local == ScheduleMatcher.NONE) return ScheduleMatcher.NONE;
+
+            long next = zoneTimeline.toEpoch(local, now, gapPolicy, overlapPolicy);
+            if (next > now) return next;
+
+            local = matcher.next(local, local);
         }
 
-        return LocalDateTime.now().plusMinutes(1);
+        return local != ScheduleMatcher.NONE ? zoneTimeline.toEpoch(local, now, DstGapPolicy.SHIFT_FORWARD, overlapPolicy) : ScheduleMatcher.NONE;
     }
 
-    private LocalDateTime calculateRange(LocalDateTime now, @NotNull ScheduleConfig config) {
-        if (config.getStartTime() != null && config.getEndTime() != null) {
-            LocalTime startTime = config.getStartTime();
-            LocalTime endTime = config.getEndTime();
-            LocalTime nowTime = now.toLocalTime();
-
-            if (nowTime.isBefore(startTime)) return now.toLocalDate().atTime(startTime);
-            else if (nowTime.isAfter(endTime)) return now.toLocalDate().plusDays(1).atTime(startTime);
-            else if (config.getRangeInterval() != null) return now.plus(config.getRangeInterval());
-        }
-        return now.plusHours(1);
+    /**
+     * @return The zone the given schedule's wall-clock times are read in
+     */
+    public @NotNull ZoneId zoneOf(@NotNull ScheduleMatcher matcher) {
+        return matcher.getZone() != null ? matcher.getZone() : zone;
     }
 }
\ No newline at end of file
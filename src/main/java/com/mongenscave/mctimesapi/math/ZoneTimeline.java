@@ -0,0 +1,96 @@
+package com.mongenscave.mctimesapi.math;
+
+import com.mongenscave.mctimesapi.identifiers.DstGapPolicy;
+import com.mongenscave.mctimesapi.identifiers.DstOverlapPolicy;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts between epoch milliseconds and the local wall-clock timeline of one zone.
+ * The offset between two transitions is cached, so away from a DST change a conversion
+ * is two comparisons and an addition; only times near a transition consult the zone rules.
+ */
+public final class ZoneTimeline {
+    private static final Map<ZoneId, ZoneTimeline> CACHE = new ConcurrentHashMap<>();
+    private static final long TRANSITION_MARGIN = 2 * CalendarMath.MILLIS_PER_DAY;
+
+    private final ZoneRules rules;
+    private volatile Window window;
+
+    private ZoneTimeline(@NotNull ZoneId zone) {
+        this.rules = zone.getRules();
+        this.window = rules.isFixedOffset() ? new Window(Long.MIN_VALUE, Long.MAX_VALUE, offsetMillis(rules.getOffset(Instant.EPOCH))) : window(0);
+    }
+
+    public static @NotNull ZoneTimeline of(@NotNull ZoneId zone) {
+        return CACHE.computeIfAbsent(zone, ZoneTimeline::new);
+    }
+
+    /**
+     * @return The local wall-clock time at the given instant, as milliseconds on the UTC-formatted local timeline
+     */
+    public long toLocal(long epochMillis) {
+        Window current = window;
+        if (epochMillis < current.start() || epochMillis >= current.end()) window = current = window(epochMillis);
+
+        return epochMillis + current.offset();
+    }
+
+    /**
+     * Resolve a local wall-clock time to an instant
+     *
+     * @param localMillis The local time, e.g. a deadline computed by a {@link ScheduleMatcher}
+     * @param notBefore In an overlap, the preferred occurrence is only used if it is after this instant
+     * @return The instant, or {@link ScheduleMatcher#NONE} if the time falls into a gap that the policy skips
+     */
+    public long toEpoch(long localMillis, long notBefore, @NotNull DstGapPolicy gapPolicy, @NotNull DstOverlapPolicy overlapPolicy) {
+        Window current = window;
+        long candidate = localMillis - current.offset();
+        if (candidate - current.start() >= TRANSITION_MARGIN && current.end() - candidate >= TRANSITION_MARGIN) return candidate;
+
+        LocalDateTime local = CalendarMath.toLocalDateTime(localMillis);
+        List<ZoneOffset> offsets = rules.getValidOffsets(local);
+
+        if (offsets.size() == 1) return localMillis - offsetMillis(offsets.getFirst());
+        if (offsets.isEmpty()) {
+            if (gapPolicy == DstGapPolicy.SKIP) return ScheduleMatcher.NONE;
+
+            ZoneOffsetTransition gap = rules.getTransition(local);
+            return localMillis - offsetMillis(gap.getOffsetBefore());
+        }
+
+        long earlier = localMillis - offsetMillis(offsets.get(0));
+        long later = localMillis - offsetMillis(offsets.get(1));
+        if (overlapPolicy == DstOverlapPolicy.LATER) return later;
+
+        return earlier > notBefore ? earlier : later;
+    }
+
+    private @NotNull Window window(long epochMillis) {
+        Instant instant = Instant.ofEpochMilli(epochMillis);
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+
+        long start = previous != null ? Math.min(previous.toEpochSecond() * CalendarMath.MILLIS_PER_SECOND, epochMillis) : Long.MIN_VALUE;
+        long end = next != null ? next.toEpochSecond() * CalendarMath.MILLIS_PER_SECOND : Long.MAX_VALUE;
+        return new Window(start, end, offsetMillis(rules.getOffset(instant)));
+    }
+
+    private static long offsetMillis(@NotNull ZoneOffset offset) {
+        return offset.getTotalSeconds() * CalendarMath.MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Epoch range {@code [start, end)} with a constant offset
+     */
+    private record Window(long start, long end, long offset) {}
+}
\ No newline at end of file
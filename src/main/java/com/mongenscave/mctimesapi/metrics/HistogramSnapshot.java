@@ -0,0 +1,6 @@
+package com.mongenscave.mctimesapi.metrics;
+
+/**
+ * Point-in-time view of a {@link LatencyHistogram}. All values are in microseconds.
+ */
+public record HistogramSnapshot(long count, long mean, long max, long p50, long p90, long p99, long p999) {}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.mongenscave.mctimesapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the spirit of HdrHistogram. Every power of two is split
+ * into eight linear sub-buckets, so recorded values keep roughly 12% precision across the whole
+ * {@code long} range while {@link #record(long)} stays a couple of atomic increments with no allocation.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        updateMax(max, value);
+    }
+
+    public @NotNull HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long recorded = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            recorded += copy[i];
+        }
+
+        long maxValue = max.get();
+        return new HistogramSnapshot(recorded,
+                recorded > 0 ? total.get() / recorded : 0,
+                maxValue,
+                percentile(copy, recorded, 0.50, maxValue),
+                percentile(copy, recorded, 0.90, maxValue),
+                percentile(copy, recorded, 0.99, maxValue),
+                percentile(copy, recorded, 0.999, maxValue));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Read one percentile straight from the live buckets, without copying them
+     */
+    public long percentile(double quantile) {
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) recorded += counts.get(i);
+        if (recorded == 0) return 0;
+
+        long maxValue = max.get();
+        long threshold = (long) Math.ceil(recorded * quantile);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= threshold) return Math.min(upperBound(i), maxValue);
+        }
+
+        return maxValue;
+    }
+
+    static void updateMax(@NotNull AtomicLong target, long value) {
+        long current;
+        while (value > (current = target.get())) {
+            if (target.compareAndSet(current, value)) return;
+        }
+    }
+
+    private static long percentile(long @NotNull [] counts, long recorded, double quantile, long maxValue) {
+        if (recorded == 0) return 0;
+
+        long threshold = (long) Math.ceil(recorded * quantile);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) return Math.min(upperBound(i), maxValue);
+        }
+
+        return maxValue;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
\ No newline at end of file
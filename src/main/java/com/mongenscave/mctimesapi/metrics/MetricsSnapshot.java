@@ -0,0 +1,14 @@
+package com.mongenscave.mctimesapi.metrics;
+
+import java.util.Map;
+
+/**
+ * Point-in-time view of the whole scheduler, returned by {@code TimesAPI.getMetrics()}
+ */
+public record MetricsSnapshot(long timestamp,
+                              int activeTasks,
+                              int queueDepth,
+                              PoolSnapshot syncPool,
+                              PoolSnapshot asyncPool,
+                              ScheduleMetricsSnapshot total,
+                              Map<String, ScheduleMetricsSnapshot> schedules) {}
\ No newline at end of file
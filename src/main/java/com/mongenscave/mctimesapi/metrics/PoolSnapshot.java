@@ -0,0 +1,8 @@
+package com.mongenscave.mctimesapi.metrics;
+
+/**
+ * Gauges for one executor. Utilization is the share of the pool's thread time spent
+ * running tasks since the scheduler started, between 0 and 1. Rejected counts runs
+ * turned away because the pool's queue was full.
+ */
+public record PoolSnapshot(int activeThreads, int poolSize, int queuedTasks, int queueCapacity, long completedTasks, long rejected, double utilization) {}
\ No newline at end of file
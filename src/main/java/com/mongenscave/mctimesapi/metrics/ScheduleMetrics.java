@@ -0,0 +1,97 @@
+package com.mongenscave.mctimesapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated recordings for every task sharing one schedule string, and for the scheduler as a whole.
+ */
+public final class ScheduleMetrics {
+    private final LatencyHistogram lateness = new LatencyHistogram();
+    private final LatencyHistogram duration = new LatencyHistogram();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong overlapped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final ScheduleMetrics parent;
+    private final AtomicInteger tasks = new AtomicInteger();
+
+    public ScheduleMetrics() {
+        this(null);
+    }
+
+    /**
+     * @param parent Recorder that receives a copy of every recording, e.g. the scheduler-wide total
+     */
+    public ScheduleMetrics(ScheduleMetrics parent) {
+        this.parent = parent;
+    }
+
+    public void recordExecution(long latenessMicros, long durationMicros) {
+        lateness.record(latenessMicros);
+        duration.record(durationMicros);
+        if (parent != null) parent.recordExecution(latenessMicros, durationMicros);
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+        if (parent != null) parent.recordFailure();
+    }
+
+    public void recordSkipped() {
+        skipped.incrementAndGet();
+        if (parent != null) parent.recordSkipped();
+    }
+
+    public void recordOverlapped() {
+        overlapped.incrementAndGet();
+        if (parent != null) parent.recordOverlapped();
+    }
+
+    public void recordRejected() {
+        rejected.incrementAndGet();
+        if (parent != null) parent.recordRejected();
+    }
+
+    public @NotNull ScheduleMetricsSnapshot snapshot() {
+        return new ScheduleMetricsSnapshot(lateness.getCount(), failures.get(), skipped.get(), overlapped.get(), rejected.get(), lateness.snapshot(), duration.snapshot());
+    }
+
+    public long getExecutions() {
+        return lateness.getCount();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getOverlapped() {
+        return overlapped.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long latenessPercentile(double quantile) {
+        return lateness.percentile(quantile);
+    }
+
+    public long durationPercentile(double quantile) {
+        return duration.percentile(quantile);
+    }
+
+    int retain() {
+        return tasks.incrementAndGet();
+    }
+
+    int release() {
+        return tasks.decrementAndGet();
+    }
+}
\ No newline at end of file
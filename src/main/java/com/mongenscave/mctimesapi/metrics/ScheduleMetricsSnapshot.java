@@ -0,0 +1,9 @@
+package com.mongenscave.mctimesapi.metrics;
+
+public record ScheduleMetricsSnapshot(long executions,
+                                      long failures,
+                                      long skipped,
+                                      long overlapped,
+                                      long rejected,
+                                      HistogramSnapshot lateness,
+                                      HistogramSnapshot duration) {}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.mongenscave.mctimesapi.metrics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry behind the metrics snapshot. Per-schedule recorders are resolved once when a task is
+ * registered, so the dispatch path only touches preallocated atomics. A recorder is dropped once the
+ * last task with its schedule string is gone, so one-off schedules do not pile up; what they recorded
+ * stays in the total.
+ */
+public final class SchedulerMetrics {
+    private final Map<String, ScheduleMetrics> schedules = new ConcurrentHashMap<>();
+    @Getter private final ScheduleMetrics total = new ScheduleMetrics();
+    @Getter private final boolean taskHistograms;
+    private final AtomicLong syncBusyNanos = new AtomicLong();
+    private final AtomicLong asyncBusyNanos = new AtomicLong();
+    private final AtomicLong syncRejected = new AtomicLong();
+    private final AtomicLong asyncRejected = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    public SchedulerMetrics(boolean taskHistograms) {
+        this.taskHistograms = taskHistograms;
+    }
+
+    /**
+     * Get the recorder of a schedule string and count one more task using it
+     */
+    public @NotNull ScheduleMetrics forSchedule(@NotNull String scheduleString) {
+        return schedules.compute(scheduleString, (key, metrics) -> {
+            ScheduleMetrics resolved = metrics != null ? metrics : new ScheduleMetrics(total);
+            resolved.retain();
+            return resolved;
+        });
+    }
+
+    /**
+     * Count one task less using the recorder, and drop it once no task uses it
+     */
+    public void release(@NotNull String scheduleString, @NotNull ScheduleMetrics metrics) {
+        schedules.computeIfPresent(scheduleString, (key, current) -> current == metrics && current.release() == 0 ? null : current);
+    }
+
+    public void recordBusy(boolean async, long nanos) {
+        (async ? asyncBusyNanos : syncBusyNanos).addAndGet(nanos);
+    }
+
+    public void recordRejected(boolean async) {
+        (async ? asyncRejected : syncRejected).incrementAndGet();
+    }
+
+    public @NotNull PoolSnapshot poolSnapshot(@NotNull ThreadPoolExecutor executor, boolean async) {
+        long elapsed = Math.max(1, System.nanoTime() - startedAt);
+        int poolSize = Math.max(1, executor.getMaximumPoolSize());
+        long busy = (async ? asyncBusyNanos : syncBusyNanos).get();
+
+        return new PoolSnapshot(executor.getActiveCount(),
+                executor.getPoolSize(),
+                executor.getQueue().size(),
+                executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                executor.getCompletedTaskCount(),
+                (async ? asyncRejected : syncRejected).get(),
+                Math.min(1.0, (double) busy / ((double) elapsed * poolSize)));
+    }
+
+    public @NotNull Map<String, ScheduleMetricsSnapshot> scheduleSnapshots() {
+        Map<String, ScheduleMetricsSnapshot> snapshots = new TreeMap<>();
+        schedules.forEach((scheduleString, metrics) -> snapshots.put(scheduleString, metrics.snapshot()));
+        return snapshots;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.mongenscave.mctimesapi.metrics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for a single task. Lateness is the time from deadline to start, duration the run time,
+ * both in microseconds. Per-task histograms are only allocated when enabled in the settings,
+ * since they cost a few kilobytes per task.
+ */
+public final class TaskMetrics {
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong overlapped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalLateness = new AtomicLong();
+    private final AtomicLong maxLateness = new AtomicLong();
+    private final AtomicLong totalDuration = new AtomicLong();
+    private final AtomicLong maxDuration = new AtomicLong();
+    private final LatencyHistogram latenessHistogram;
+    private final LatencyHistogram durationHistogram;
+    @Getter private volatile Throwable lastFailure;
+
+    public TaskMetrics(boolean histograms) {
+        this.latenessHistogram = histograms ? new LatencyHistogram() : null;
+        this.durationHistogram = histograms ? new LatencyHistogram() : null;
+    }
+
+    public void recordExecution(long latenessMicros, long durationMicros) {
+        totalLateness.addAndGet(latenessMicros);
+        LatencyHistogram.updateMax(maxLateness, latenessMicros);
+        totalDuration.addAndGet(durationMicros);
+        LatencyHistogram.updateMax(maxDuration, durationMicros);
+
+        if (latenessHistogram != null) {
+            latenessHistogram.record(latenessMicros);
+            durationHistogram.record(durationMicros);
+        }
+    }
+
+    public void recordFailure(@NotNull Throwable throwable) {
+        failures.incrementAndGet();
+        lastFailure = throwable;
+    }
+
+    public void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    public void recordOverlapped() {
+        overlapped.incrementAndGet();
+    }
+
+    public void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getOverlapped() {
+        return overlapped.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public @NotNull TaskMetricsSnapshot snapshot(long executions) {
+        return new TaskMetricsSnapshot(executions,
+                failures.get(),
+                skipped.get(),
+                overlapped.get(),
+                rejected.get(),
+                executions > 0 ? totalLateness.get() / executions : 0,
+                maxLateness.get(),
+                executions > 0 ? totalDuration.get() / executions : 0,
+                maxDuration.get(),
+                latenessHistogram != null ? latenessHistogram.snapshot() : null,
+                durationHistogram != null ? durationHistogram.snapshot() : null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.mongenscave.mctimesapi.metrics;
+
+/**
+ * Point-in-time view of a task's {@link TaskMetrics}. Times are in microseconds;
+ * the histograms are null unless per-task histograms are enabled.
+ */
+public record TaskMetricsSnapshot(long executions,
+                                  long failures,
+                                  long skipped,
+                                  long overlapped,
+                                  long rejected,
+                                  long meanLateness,
+                                  long maxLateness,
+                                  long meanDuration,
+                                  long maxDuration,
+                                  HistogramSnapshot lateness,
+                                  HistogramSnapshot duration) {}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.mongenscave.mctimesapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reads every attribute straight from the live recorders, so polling one attribute never builds
+ * the per-schedule snapshots
+ */
+public class TimesAPIMetrics implements TimesAPIMetricsMXBean {
+    private final ScheduleMetrics total;
+    private final IntSupplier activeTasks;
+    private final IntSupplier queueDepth;
+    private final Supplier<PoolSnapshot> syncPool;
+    private final Supplier<PoolSnapshot> asyncPool;
+
+    public TimesAPIMetrics(@NotNull ScheduleMetrics total, @NotNull IntSupplier activeTasks, @NotNull IntSupplier queueDepth,
+                           @NotNull Supplier<PoolSnapshot> syncPool, @NotNull Supplier<PoolSnapshot> asyncPool) {
+        this.total = total;
+        this.activeTasks = activeTasks;
+        this.queueDepth = queueDepth;
+        this.syncPool = syncPool;
+        this.asyncPool = asyncPool;
+    }
+
+    @Override
+    public int getActiveTasks() {
+        return activeTasks.getAsInt();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public long getExecutions() {
+        return total.getExecutions();
+    }
+
+    @Override
+    public long getFailures() {
+        return total.getFailures();
+    }
+
+    @Override
+    public long getSkipped() {
+        return total.getSkipped();
+    }
+
+    @Override
+    public long getOverlapped() {
+        return total.getOverlapped();
+    }
+
+    @Override
+    public long getRejected() {
+        return total.getRejected();
+    }
+
+    @Override
+    public long getLatenessP99() {
+        return total.latenessPercentile(0.99);
+    }
+
+    @Override
+    public long getDurationP99() {
+        return total.durationPercentile(0.99);
+    }
+
+    @Override
+    public double getSyncPoolUtilization() {
+        return syncPool.get().utilization();
+    }
+
+    @Override
+    public double getAsyncPoolUtilization() {
+        return asyncPool.get().utilization();
+    }
+}
\ No newline at end of file
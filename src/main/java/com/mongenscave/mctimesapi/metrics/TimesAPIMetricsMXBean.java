@@ -0,0 +1,28 @@
+package com.mongenscave.mctimesapi.metrics;
+
+/**
+ * JMX view of the scheduler metrics. Times are in microseconds.
+ */
+public interface TimesAPIMetricsMXBean {
+    int getActiveTasks();
+
+    int getQueueDepth();
+
+    long getExecutions();
+
+    long getFailures();
+
+    long getSkipped();
+
+    long getOverlapped();
+
+    long getRejected();
+
+    long getLatenessP99();
+
+    long getDurationP99();
+
+    double getSyncPoolUtilization();
+
+    double getAsyncPoolUtilization();
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.mongenscave.mctimesapi.models;
+
+/**
+ * A firing whose run and every retry failed. Times are epoch millis; the deadline is that of the first failed run.
+ */
+public record DeadLetter(long id,
+                         ScheduleTask task,
+                         long deadline,
+                         long failedAt,
+                         int attempts,
+                         Exception failure) {
+
+    public String scheduleString() {
+        return task.getScheduleString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.mongenscave.mctimesapi.models;
+
+import java.time.Instant;
+
+/**
+ * One upcoming firing of a schedule, at epoch millis. Previews of a bare schedule string have no task.
+ */
+public record Firing(String scheduleString,
+                     ScheduleTask task,
+                     long deadline) {
+
+    public Instant instant() {
+        return Instant.ofEpochMilli(deadline);
+    }
+}
\ No newline at end of file
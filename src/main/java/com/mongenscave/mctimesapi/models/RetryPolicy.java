@@ -0,0 +1,66 @@
+package com.mongenscave.mctimesapi.models;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how soon a failed run is tried again. Retries go through the scheduler's task queue like any
+ * other deadline, so no thread waits out the backoff. If the next regular firing comes before a retry,
+ * that firing takes the retry's place and counts as an attempt.
+ */
+@Getter
+public final class RetryPolicy {
+    public static final RetryPolicy NONE = new RetryPolicy(0, Duration.ZERO, Duration.ZERO, 1, 0);
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double multiplier;
+
+    /**
+     * Fraction of each delay, between 0 and 1, that is randomly taken off so retries of many tasks do not line up
+     */
+    private final double jitter;
+
+    private RetryPolicy(int maxAttempts, @NotNull Duration initialDelay, @NotNull Duration maxDelay, double multiplier, double jitter) {
+        if (maxAttempts < 0) throw new IllegalArgumentException("Max attempts must not be negative");
+        if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) throw new IllegalArgumentException("Delays must satisfy 0 <= initial <= max");
+        if (jitter < 0 || jitter > 1) throw new IllegalArgumentException("Jitter must be between 0 and 1");
+
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Retry up to {@code maxAttempts} times, waiting the same delay before each attempt
+     */
+    public static @NotNull RetryPolicy fixed(int maxAttempts, @NotNull Duration delay) {
+        return new RetryPolicy(maxAttempts, delay, delay, 1, 0);
+    }
+
+    /**
+     * Retry up to {@code maxAttempts} times, doubling the delay after every attempt until it reaches {@code maxDelay}
+     */
+    public static @NotNull RetryPolicy exponential(int maxAttempts, @NotNull Duration initialDelay, @NotNull Duration maxDelay) {
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, 2, 0);
+    }
+
+    public @NotNull RetryPolicy withJitter(double jitter) {
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    /**
+     * @param attempt The retry about to be scheduled, starting at 1
+     */
+    public long delayMillis(int attempt) {
+        double delay = Math.min(initialDelay.toMillis() * Math.pow(multiplier, attempt - 1), maxDelay.toMillis());
+        if (jitter > 0) delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) delay;
+    }
+}
\ No newline at end of file
@@ -1,28 +1,59 @@
 package com.mongenscave.mctimesapi.models;
 
 import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.math.CronExpression;
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Immutable result of parsing a schedule string.
+ * Instances are shared between every task registered with the same schedule.
+ */
 @Getter
-@Setter
+@Builder(toBuilder = true)
 public class ScheduleConfig {
-    private ScheduleType type;
-    private LocalTime time;
-    private LocalDate specificDate;
-    private Set<DayOfWeek> daysOfWeek;
-    private int dayOfMonth;
-    private boolean lastDayOfMonth;
-    private DayOfWeek firstWeekdayOfMonth;
-    private DayOfWeek lastWeekdayOfMonth;
-    private Duration intervalDuration;
-    private LocalTime startTime;
-    private LocalTime endTime;
-    private Duration rangeInterval;
+    private final ScheduleType type;
+    private final LocalTime time;
+    private final LocalDate specificDate;
+    private final Set<DayOfWeek> daysOfWeek;
+    private final int dayOfMonth;
+    private final boolean lastDayOfMonth;
+    private final DayOfWeek firstWeekdayOfMonth;
+    private final DayOfWeek lastWeekdayOfMonth;
+
+    /**
+     * Nth weekday of the month, e.g. the 2ND TUE; {@code weekdayOrdinal} runs from 1 to 5
+     */
+    private final DayOfWeek weekdayOfMonth;
+    private final int weekdayOrdinal;
+    private final Duration intervalDuration;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Duration rangeInterval;
+    private final CronExpression cron;
+
+    /**
+     * Schedules of a {@code COMPOUND} config; it fires whenever any of them does
+     */
+    private final List<ScheduleConfig> alternatives;
+
+    /**
+     * Days on which a {@code COMPOUND} config never fires
+     */
+    private final Set<DayOfWeek> excludedDaysOfWeek;
+    private final Set<LocalDate> excludedDates;
+    private final Set<String> excludedCalendars;
+
+    /**
+     * Zone the wall-clock times are read in, or {@code null} for the scheduler's zone
+     */
+    private final ZoneId zone;
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.mongenscave.mctimesapi.models;
+
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.MisfirePolicy;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Describes one task for registration through {@code TimesAPI.schedule} or {@code TimesAPI.scheduleAll}.
+ * Exactly one of {@code task} and {@code callback} must be set.
+ */
+@Getter
+@Builder
+public class ScheduleRequest {
+    @NonNull private final String scheduleString;
+    private final Runnable task;
+    private final Consumer<ScheduleTask> callback;
+    private final boolean async;
+    @Builder.Default private final ExecutionMode executionMode = ExecutionMode.DEFAULT;
+    @Builder.Default private final OverlapPolicy overlapPolicy = OverlapPolicy.DEFAULT;
+    @Builder.Default private final MisfirePolicy misfirePolicy = MisfirePolicy.DEFAULT;
+
+    /**
+     * Stable, unique name under which the task's state is persisted across restarts.
+     * Tasks without a key are not persisted
+     */
+    private final String key;
+
+    /**
+     * Run the task on only one node of the cluster configured in {@code SchedulerSettings}. Requires a key,
+     * which every node must register the task under
+     */
+    private final boolean global;
+
+    /**
+     * Window the task's firings are spread over, so tasks sharing a schedule do not all fire in the same tick.
+     * Every firing is delayed by the same offset inside the window, derived from the key, or the id for tasks without one.
+     * Leave {@code null} to use the group's or the scheduler's spread
+     */
+    private final Duration spread;
+
+    /**
+     * How failed runs are retried. Leave {@code null} to use the scheduler's retry policy
+     */
+    private final RetryPolicy retryPolicy;
+    @Singular private final Set<String> tags;
+
+    /**
+     * Owner the task is grouped under, e.g. a plugin, a player's UUID or an annotated instance.
+     * All tasks of one owner can be cancelled together with {@code cancelGroup}
+     */
+    private final Object owner;
+
+    /**
+     * Where a synchronous task should run, for dispatchers with more than one server thread.
+     * The Paper dispatcher accepts an {@code Entity} or a {@code Location}
+     */
+    private final Object anchor;
+
+    public static @NotNull ScheduleRequest of(String scheduleString, Runnable task) {
+        return builder().scheduleString(scheduleString).task(task).build();
+    }
+
+    public static @NotNull ScheduleRequest of(String scheduleString, Consumer<ScheduleTask> callback) {
+        return builder().scheduleString(scheduleString).callback(callback).build();
+    }
+
+    /**
+     * @return The callback, or the plain task adapted to receive its {@link ScheduleTask}
+     * @throws IllegalArgumentException if neither or both of task and callback are set
+     */
+    public @NotNull Consumer<ScheduleTask> getAction() {
+        if ((task == null) == (callback == null)) throw new IllegalArgumentException("Exactly one of task and callback must be set for '" + scheduleString + "'");
+
+        Runnable runnable = task;
+        return callback != null ? callback : ignored -> runnable.run();
+    }
+}
\ No newline at end of file
@@ -1,47 +1,295 @@
 package com.mongenscave.mctimesapi.models;
 
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.MisfirePolicy;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
+import com.mongenscave.mctimesapi.metrics.ScheduleMetrics;
+import com.mongenscave.mctimesapi.metrics.SchedulerMetrics;
+import com.mongenscave.mctimesapi.metrics.TaskMetricsSnapshot;
+import com.mongenscave.mctimesapi.metrics.TaskMetrics;
+import com.mongenscave.mctimesapi.persistence.TaskState;
 import lombok.Getter;
 import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.ZoneId;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class ScheduleTask {
-    @Getter private final String id;
+    public static final long NOT_ADMITTED = -1;
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    @Getter private final long id;
+    @Getter private final String key;
     @Getter private final String scheduleString;
     @Getter private final ScheduleConfig config;
-    private final Runnable task;
+    @Getter private final ScheduleMatcher matcher;
+    @Getter private final Set<String> tags;
+    @Getter private final Object owner;
+    @Getter private final Object anchor;
+    private final Consumer<ScheduleTask> action;
+    private final Clock clock;
     @Getter private final boolean async;
+    @Getter private final boolean global;
+    @Getter private final ExecutionMode executionMode;
+    @Getter private final Duration spread;
+    @Getter private final RetryPolicy retryPolicy;
     @Getter private final LocalDateTime createdAt;
     private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    private final AtomicBoolean metricsAttached = new AtomicBoolean(false);
     private final AtomicLong executionCount = new AtomicLong(0);
-    @Getter private volatile LocalDateTime lastExecution;
-    @Setter @Getter private volatile LocalDateTime nextExecution;
+    private final AtomicInteger running = new AtomicInteger(0);
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicBoolean followUp = new AtomicBoolean(false);
+    private final AtomicLong generation = new AtomicLong(0);
+    private final Set<ActiveRun> activeRuns = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger failures = new AtomicInteger(0);
+    private volatile long followUpDeadline = ScheduleMatcher.NONE;
+    @Setter @Getter private volatile OverlapPolicy overlapPolicy;
+    @Setter @Getter private volatile MisfirePolicy misfirePolicy;
+    @Setter @Getter private int catchUpRuns;
+    @Setter @Getter private volatile ZoneId zone;
+    @Getter private TaskMetrics metrics = new TaskMetrics(false);
+    private ScheduleMetrics scheduleMetrics;
+    private SchedulerMetrics schedulerMetrics;
+    private volatile long lastExecution = ScheduleMatcher.NONE;
+
+    /**
+     * Deadline the current or most recent run was dispatched for, in epoch millis
+     */
+    @Getter private volatile long lastDeadline = ScheduleMatcher.NONE;
+    @Getter private volatile long deadline = ScheduleMatcher.NONE;
+    @Getter private volatile long plannedDeadline = ScheduleMatcher.NONE;
+    @Setter @Getter private long spreadOffset;
     private CompletableFuture<Void> taskFuture;
+    @Setter @Getter private int queueIndex = -1;
+    @Setter @Getter private boolean finished;
+    @Getter private volatile long retryDeadline = ScheduleMatcher.NONE;
+    private volatile long failedDeadline = ScheduleMatcher.NONE;
+    @Setter private volatile BiConsumer<ScheduleTask, Exception> failureHandler;
 
     public ScheduleTask(String scheduleString, ScheduleConfig config, Runnable task, boolean async) {
-        this.id = UUID.randomUUID().toString();
-        this.scheduleString = scheduleString;
-        this.config = config;
-        this.task = task;
-        this.async = async;
-        this.createdAt = LocalDateTime.now();
+        this(scheduleString, ScheduleMatcher.compile(config), task, async);
+    }
+
+    public ScheduleTask(String scheduleString, @NotNull ScheduleMatcher matcher, Runnable task, boolean async) {
+        this(scheduleString, matcher, task, async, Clock.systemDefaultZone());
+    }
+
+    public ScheduleTask(String scheduleString, @NotNull ScheduleMatcher matcher, Runnable task, boolean async, @NotNull Clock clock) {
+        this(ScheduleRequest.builder().scheduleString(scheduleString).task(task).async(async).build(), matcher, clock);
+    }
+
+    /**
+     * @param request Action, flags, tags and owner of the task; the action receives this task on every run
+     * @param matcher The compiled form of the request's schedule string
+     */
+    public ScheduleTask(@NotNull ScheduleRequest request, @NotNull ScheduleMatcher matcher, @NotNull Clock clock) {
+        if (request.isGlobal() && request.getKey() == null) throw new IllegalArgumentException("Global task '" + request.getScheduleString() + "' needs a key");
+
+        this.id = NEXT_ID.getAndIncrement();
+        this.key = request.getKey();
+        this.scheduleString = request.getScheduleString();
+        this.config = matcher.getConfig();
+        this.matcher = matcher;
+        this.action = request.getAction();
+        this.async = request.isAsync();
+        this.global = request.isGlobal();
+        this.executionMode = request.getExecutionMode();
+        this.spread = request.getSpread();
+        this.retryPolicy = request.getRetryPolicy();
+        this.overlapPolicy = request.getOverlapPolicy();
+        this.misfirePolicy = request.getMisfirePolicy();
+        this.tags = Set.copyOf(request.getTags());
+        this.owner = request.getOwner();
+        this.anchor = request.getAnchor();
+        this.clock = clock;
+        this.zone = matcher.getZone() != null ? matcher.getZone() : clock.getZone();
+        this.createdAt = LocalDateTime.now(clock);
+    }
+
+    /**
+     * Connect this task to the scheduler's metric recorders. Called once on registration.
+     */
+    public void attachMetrics(@NotNull SchedulerMetrics schedulerMetrics) {
+        if (!metricsAttached.compareAndSet(false, true)) return;
+
+        this.schedulerMetrics = schedulerMetrics;
+        this.scheduleMetrics = schedulerMetrics.forSchedule(scheduleString);
+        if (schedulerMetrics.isTaskHistograms()) this.metrics = new TaskMetrics(true);
+    }
+
+    /**
+     * Stop counting towards the scheduler's per-schedule recorder. Called once the task has left the scheduler;
+     * a run still in progress keeps recording into the totals
+     */
+    public void detachMetrics() {
+        if (metricsAttached.compareAndSet(true, false) && scheduleMetrics != null) schedulerMetrics.release(scheduleString, scheduleMetrics);
     }
 
     public void execute() {
-        if (cancelled.get()) return;
+        execute(deadline);
+    }
 
-        lastExecution = LocalDateTime.now();
+    /**
+     * Run the task for the given deadline, recording lateness, duration and failures
+     *
+     * @param firedDeadline The deadline this run was dispatched for
+     */
+    public void execute(long firedDeadline) {
+        if (cancelled.get()) {
+            recordSkipped();
+            return;
+        }
+
+        long started = clock.millis();
+        long startedNanos = System.nanoTime();
+        lastExecution = started;
+        lastDeadline = firedDeadline;
         executionCount.incrementAndGet();
 
+        if (running.getAndIncrement() > 0) {
+            metrics.recordOverlapped();
+            if (scheduleMetrics != null) scheduleMetrics.recordOverlapped();
+        }
+
+        ActiveRun activeRun = async && overlapPolicy == OverlapPolicy.CANCEL_PREVIOUS ? new ActiveRun(Thread.currentThread()) : null;
+        if (activeRun != null) activeRuns.add(activeRun);
+
         try {
-            task.run();
+            action.accept(this);
+            if (failures.get() != 0) failures.set(0);
         } catch (Exception exception) {
+            metrics.recordFailure(exception);
+            if (scheduleMetrics != null) scheduleMetrics.recordFailure();
             System.err.println("Error executing scheduled task '" + scheduleString + "': " + exception.getMessage());
+
+            if (failures.incrementAndGet() == 1) failedDeadline = firedDeadline;
+            BiConsumer<ScheduleTask, Exception> handler = failureHandler;
+            if (handler != null) handler.accept(this, exception);
+        } finally {
+            running.decrementAndGet();
+            if (activeRun != null) {
+                activeRun.finish();
+                activeRuns.remove(activeRun);
+            }
+
+            long durationNanos = System.nanoTime() - startedNanos;
+            long latenessMicros = firedDeadline != ScheduleMatcher.NONE ? Math.max(0, started - firedDeadline) * 1_000 : 0;
+            metrics.recordExecution(latenessMicros, durationNanos / 1_000);
+
+            if (scheduleMetrics != null) {
+                scheduleMetrics.recordExecution(latenessMicros, durationNanos / 1_000);
+                schedulerMetrics.recordBusy(async, durationNanos);
+            }
+        }
+    }
+
+    /**
+     * Claim a run for the given deadline under this task's overlap policy. The scheduler calls this
+     * before handing the run to an executor and passes the returned ticket on to {@link #run(long, long)}.
+     *
+     * @return the run's ticket, or {@link #NOT_ADMITTED} if the run was skipped or folded into the queued follow-up
+     */
+    public long admit(long firedDeadline) {
+        switch (overlapPolicy) {
+            case SKIP -> {
+                if (!inFlight.compareAndSet(0, 1)) {
+                    recordSkipped();
+                    return NOT_ADMITTED;
+                }
+            }
+            case QUEUE_ONE -> {
+                if (!inFlight.compareAndSet(0, 1)) {
+                    followUpDeadline = firedDeadline;
+                    if (!followUp.compareAndSet(false, true)) recordSkipped();
+                    return NOT_ADMITTED;
+                }
+            }
+            case CANCEL_PREVIOUS -> {
+                inFlight.incrementAndGet();
+                activeRuns.forEach(ActiveRun::cancel);
+            }
+            default -> inFlight.incrementAndGet();
+        }
+
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * Execute an admitted run, then any follow-up queued while it was running
+     *
+     * @param firedDeadline The deadline this run was dispatched for
+     * @param ticket The ticket returned by {@link #admit(long)}
+     */
+    public void run(long firedDeadline, long ticket) {
+        if (overlapPolicy == OverlapPolicy.CANCEL_PREVIOUS && ticket != generation.get()) {
+            recordSkipped();
+            inFlight.decrementAndGet();
+            return;
+        }
+
+        long next = firedDeadline;
+        while (true) {
+            execute(next);
+            if (overlapPolicy != OverlapPolicy.QUEUE_ONE) break;
+
+            if (!followUp.getAndSet(false)) {
+                inFlight.decrementAndGet();
+                if (!followUp.get() || !inFlight.compareAndSet(0, 1)) return;
+                if (!followUp.getAndSet(false)) break;
+            }
+
+            next = followUpDeadline;
         }
+
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Release an admitted run that an executor turned away
+     */
+    public void reject() {
+        metrics.recordRejected();
+        if (scheduleMetrics != null) scheduleMetrics.recordRejected();
+        inFlight.decrementAndGet();
+    }
+
+    private void recordSkipped() {
+        metrics.recordSkipped();
+        if (scheduleMetrics != null) scheduleMetrics.recordSkipped();
+    }
+
+    /**
+     * Continue the execution history of a persisted task after a restart
+     */
+    public void restore(@NotNull TaskState state) {
+        executionCount.set(state.executions());
+        lastExecution = state.lastFired();
+    }
+
+    /**
+     * @return The persistable state of this task after firing for the given deadline
+     */
+    public @NotNull TaskState toState(long lastFired, boolean completed) {
+        return new TaskState(key, scheduleString, lastFired, plannedDeadline, executionCount.get(), completed);
+    }
+
+    public @NotNull TaskMetricsSnapshot getMetricsSnapshot() {
+        return metrics.snapshot(executionCount.get());
     }
 
     public boolean cancel() {
@@ -50,6 +298,95 @@ public class ScheduleTask {
         return wasCancelled;
     }
 
+    public long getLastExecutionMillis() {
+        return lastExecution;
+    }
+
+    /**
+     * @return The last run as wall-clock time in the task's zone
+     */
+    public LocalDateTime getLastExecution() {
+        long current = lastExecution;
+        return current != ScheduleMatcher.NONE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(current), zone) : null;
+    }
+
+    /**
+     * @return The next deadline as wall-clock time in the task's zone
+     */
+    public LocalDateTime getNextExecution() {
+        long current = deadline;
+        return current != ScheduleMatcher.NONE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(current), zone) : null;
+    }
+
+    public void setNextExecution(LocalDateTime nextExecution) {
+        setDeadline(nextExecution != null ? nextExecution.atZone(zone).toInstant().toEpochMilli() : ScheduleMatcher.NONE);
+    }
+
+    /**
+     * Set the deadline the schedule fires at, including this task's spread offset
+     */
+    public void setDeadline(long deadline) {
+        this.plannedDeadline = deadline;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Move the next firing to the given time without changing the planned deadline,
+     * e.g. when the scheduler's rate limit is exhausted or a retry is due first
+     */
+    public void defer(long until) {
+        this.deadline = until;
+    }
+
+    /**
+     * @return Whether the planned firing was pushed back and already holds its dispatch slot
+     */
+    public boolean isDeferred() {
+        return deadline != plannedDeadline;
+    }
+
+    /**
+     * @return Runs that failed in a row, retries included
+     */
+    public int getConsecutiveFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return The deadline of the first run in the current streak of failures
+     */
+    public long getFailedDeadline() {
+        return failedDeadline;
+    }
+
+    public void resetFailures() {
+        failures.set(0);
+    }
+
+    /**
+     * Request a retry at the given time. The task queue moves the task forward to it, unless the next regular firing comes first
+     */
+    public void scheduleRetry(long at) {
+        retryDeadline = at;
+    }
+
+    public void clearRetry() {
+        retryDeadline = ScheduleMatcher.NONE;
+    }
+
+    /**
+     * Clear the pending retry
+     *
+     * @return Whether the task is due because of it rather than its schedule
+     */
+    public boolean takeRetry() {
+        long at = retryDeadline;
+        if (at == ScheduleMatcher.NONE) return false;
+
+        retryDeadline = ScheduleMatcher.NONE;
+        return at == deadline && deadline != plannedDeadline;
+    }
+
     public boolean isCancelled() {
         return cancelled.get();
     }
@@ -62,16 +399,16 @@ public class ScheduleTask {
      * Get a human-readable description of this task
      */
     public String getDescription() {
-        return String.format("Task[%s] - Schedule: %s, Async: %s, Executions: %d",
-                id.substring(0, 8), scheduleString, async, getExecutionCount());
+        return String.format("Task[%d] - Schedule: %s, Async: %s, Executions: %d",
+                id, scheduleString, async, getExecutionCount());
     }
 
     /**
      * Check if this task is due for execution
      */
     public boolean isDue() {
-        return nextExecution != null &&
-                !nextExecution.isAfter(LocalDateTime.now()) &&
+        return deadline != ScheduleMatcher.NONE &&
+                deadline <= clock.millis() &&
                 !cancelled.get();
     }
 
@@ -79,4 +416,27 @@ public class ScheduleTask {
     public String toString() {
         return getDescription();
     }
+
+    /**
+     * A CANCEL_PREVIOUS run on a pooled thread. The thread is only interrupted while the run still holds
+     * it; {@link #finish()} closes that window and clears any interrupt aimed at the run before the thread
+     * goes back to its pool
+     */
+    private static final class ActiveRun {
+        private final Thread thread;
+        private boolean finished;
+
+        private ActiveRun(@NotNull Thread thread) {
+            this.thread = thread;
+        }
+
+        private synchronized void cancel() {
+            if (!finished) thread.interrupt();
+        }
+
+        private synchronized void finish() {
+            finished = true;
+            Thread.interrupted();
+        }
+    }
 }
\ No newline at end of file
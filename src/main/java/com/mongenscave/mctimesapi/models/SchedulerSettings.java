@@ -0,0 +1,130 @@
+package com.mongenscave.mctimesapi.models;
+
+import com.mongenscave.mctimesapi.cluster.ClusterCoordinator;
+import com.mongenscave.mctimesapi.dispatch.InlineSyncDispatcher;
+import com.mongenscave.mctimesapi.dispatch.SyncDispatcher;
+import com.mongenscave.mctimesapi.identifiers.DstGapPolicy;
+import com.mongenscave.mctimesapi.identifiers.DstOverlapPolicy;
+import com.mongenscave.mctimesapi.identifiers.ExecutionMode;
+import com.mongenscave.mctimesapi.identifiers.MisfirePolicy;
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import com.mongenscave.mctimesapi.identifiers.RejectionPolicy;
+import com.mongenscave.mctimesapi.persistence.ScheduleStore;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+
+@Getter
+@Setter
+public class SchedulerSettings {
+    /**
+     * Tasks whose deadline falls inside this window are dispatched in the same wakeup,
+     * so no task fires further than this from its deadline
+     */
+    private Duration tolerance = Duration.ofMillis(50);
+
+    /**
+     * Time source for every deadline and timestamp. A {@code VirtualClock} puts the scheduler
+     * into simulation mode: no dispatch thread is started and time is driven by a {@code SimulationDriver}
+     */
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Zone that wall-clock schedules without a {@code TZ} suffix are read in. Leave {@code null} to use the clock's zone
+     */
+    private ZoneId zone = null;
+
+    /**
+     * What a wall-clock schedule does when its time is skipped by clocks jumping forward
+     */
+    private DstGapPolicy dstGapPolicy = DstGapPolicy.SHIFT_FORWARD;
+
+    /**
+     * Which of the two occurrences a wall-clock schedule uses when clocks fall back and its time happens twice
+     */
+    private DstOverlapPolicy dstOverlapPolicy = DstOverlapPolicy.EARLIER;
+
+    /**
+     * Where async tasks run unless they choose a mode themselves. {@code VIRTUAL} gives every
+     * execution its own virtual thread, so tasks blocking on I/O cannot starve the worker pool
+     */
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+
+    /**
+     * Thread that synchronous tasks run on. Defaults to the scheduler's own dispatch thread;
+     * use a {@code PaperSyncDispatcher} on Paper and Folia servers
+     */
+    private SyncDispatcher syncDispatcher = new InlineSyncDispatcher();
+
+    /**
+     * What happens when a task is due while its previous run is still going, unless the task chooses itself.
+     * By default every run starts, as it always has
+     */
+    private OverlapPolicy overlapPolicy = OverlapPolicy.ALLOW_CONCURRENT;
+
+    /**
+     * How many async runs may wait for a free worker thread before the rejection policy applies
+     */
+    private int asyncQueueCapacity = 1024;
+
+    /**
+     * What the async worker pool does with a run when its queue is full. By default no run is dropped
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+    /**
+     * Window that tasks without a spread of their own, or of their group, delay their firings over.
+     * {@code Duration.ZERO} fires every task exactly on its schedule
+     */
+    private Duration spread = Duration.ZERO;
+
+    /**
+     * Token bucket for dispatching firings: it holds up to this many and refills at this many per {@link #dispatchRateInterval}.
+     * Firings that find it empty are pushed back to the slot their token frees up at; 0 disables the limit
+     */
+    private int dispatchRateLimit = 0;
+
+    private Duration dispatchRateInterval = Duration.ofSeconds(1);
+
+    /**
+     * How failed runs are retried, unless the task chooses a policy itself
+     */
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+
+    /**
+     * How many firings that exhausted their retries are kept for inspection and replay
+     */
+    private int deadLetterCapacity = 1000;
+
+    /**
+     * Where keyed tasks persist their state across restarts, e.g. a {@code MappedLogScheduleStore}.
+     * Leave {@code null} to keep everything in memory
+     */
+    private ScheduleStore scheduleStore = null;
+
+    /**
+     * What a persisted task does with the runs it missed while the application was down, unless the task chooses itself
+     */
+    private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+
+    /**
+     * Cluster this scheduler belongs to. Global tasks only run on the node that owns them;
+     * leave {@code null} to run every task locally
+     */
+    private ClusterCoordinator cluster = null;
+
+    /**
+     * Keep full latency histograms per task instead of only counters and maxima.
+     * Per-schedule histograms are always recorded
+     */
+    private boolean taskHistograms = false;
+
+    /**
+     * Register a {@code TimesAPIMetricsMXBean} on the platform MBean server under this name.
+     * Leave {@code null} to skip JMX registration
+     */
+    private String jmxName = null;
+}
\ No newline at end of file
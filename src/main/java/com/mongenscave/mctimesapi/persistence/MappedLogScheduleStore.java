@@ -0,0 +1,330 @@
+package com.mongenscave.mctimesapi.persistence;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped log of task states. Every save or removal appends one checksummed record,
+ * so the hot path is a buffer copy without a system call. Loading replays the log once and stops at the
+ * first torn or zeroed record. Once superseded records dominate the file, it is rewritten with only the
+ * live states and atomically swapped in. The working file stays open until the swap succeeds; if it fails, for
+ * example because the platform refuses to replace a mapped file, the store keeps appending to the old log and
+ * tries again once it has doubled.
+ * <p>
+ * Record layout: {@code int length, int crc32, byte op, short keyLength, key, [short scheduleLength, schedule,
+ * long lastFired, long deadline, long executions, byte completed]}. The length is written last, so a record
+ * only becomes visible once it is complete.
+ */
+public final class MappedLogScheduleStore implements ScheduleStore {
+    private static final int MAGIC = 0x54415049;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int INITIAL_SIZE = 1 << 20;
+    private static final long COMPACTION_THRESHOLD = 1 << 20;
+    private static final int GARBAGE_RATIO = 2;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private final Path file;
+    private final Map<String, TaskState> live = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long liveBytes;
+    private long nextCompaction = COMPACTION_THRESHOLD;
+    @Getter private long compactions;
+
+    /**
+     * Opens or creates the log. Existing records are replayed immediately.
+     *
+     * @throws UncheckedIOException if the file cannot be opened or is not a schedule log
+     */
+    public MappedLogScheduleStore(@NotNull Path file) {
+        this.file = file;
+
+        try {
+            open();
+            replay();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to open schedule store " + file, exception);
+        }
+    }
+
+    @Override
+    public synchronized @NotNull Map<String, TaskState> load() {
+        return Map.copyOf(live);
+    }
+
+    @Override
+    public synchronized void save(@NotNull TaskState state) {
+        encode(PUT, state.key(), state);
+
+        TaskState previous = live.put(state.key(), state);
+        if (previous != null) liveBytes -= recordSize(previous);
+        liveBytes += recordSize(state);
+
+        append();
+    }
+
+    @Override
+    public synchronized void remove(@NotNull String key) {
+        TaskState previous = live.remove(key);
+        if (previous == null) return;
+
+        liveBytes -= recordSize(previous);
+        encode(REMOVE, key, null);
+        append();
+    }
+
+    @Override
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Rewrite the log with only the live states
+     *
+     * @throws UncheckedIOException if the compacted log cannot be swapped in; the store keeps using the old one
+     */
+    public synchronized void compact() {
+        try {
+            swapCompacted();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to compact schedule store " + file, exception);
+        }
+    }
+
+    public synchronized int size() {
+        return live.size();
+    }
+
+    /**
+     * @return Bytes used by the log, including superseded records
+     */
+    public synchronized long getLogSize() {
+        return writePosition;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null || !channel.isOpen()) return;
+
+        if (isWasteful()) compactQuietly();
+        buffer.force();
+
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            System.err.println("Failed to close schedule store " + file + ": " + exception.getMessage());
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() == 0;
+
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_SIZE, channel.size()));
+        if (fresh) buffer.putInt(0, MAGIC).putInt(4, VERSION);
+        else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) throw new IOException("Not a TimesAPI schedule store");
+    }
+
+    private void replay() {
+        ByteBuffer view = buffer.duplicate();
+        Map<String, String> schedules = new HashMap<>();
+        int position = FILE_HEADER;
+        int limit = buffer.capacity();
+
+        while (position + RECORD_HEADER <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > limit - position - RECORD_HEADER) break;
+
+            view.limit(position + RECORD_HEADER + length).position(position + RECORD_HEADER);
+            crc.reset();
+            crc.update(view);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) break;
+
+            view.position(position + RECORD_HEADER);
+            apply(view, schedules);
+            position += RECORD_HEADER + length;
+        }
+
+        writePosition = position;
+        if (writePosition > nextCompaction && isWasteful()) compactQuietly();
+    }
+
+    private void apply(@NotNull ByteBuffer record, @NotNull Map<String, String> schedules) {
+        byte op = record.get();
+        String key = readString(record);
+
+        TaskState previous;
+        if (op == PUT) {
+            String scheduleString = schedules.computeIfAbsent(readString(record), schedule -> schedule);
+            TaskState state = new TaskState(key, scheduleString, record.getLong(), record.getLong(), record.getLong(), record.get() != 0);
+            previous = live.put(key, state);
+            liveBytes += recordSize(state);
+        } else {
+            previous = live.remove(key);
+        }
+
+        if (previous != null) liveBytes -= recordSize(previous);
+    }
+
+    private void encode(byte op, @NotNull String key, TaskState state) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] scheduleBytes = state != null ? state.scheduleString().getBytes(StandardCharsets.UTF_8) : null;
+        if (keyBytes.length > MAX_STRING_BYTES || scheduleBytes != null && scheduleBytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Task key and schedule must fit in " + MAX_STRING_BYTES + " UTF-8 bytes: " + key);
+        }
+        int size = 1 + 2 + keyBytes.length + (state != null ? 2 + scheduleBytes.length + 25 : 0);
+
+        if (scratch.capacity() < size) scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        scratch.clear();
+        scratch.put(op).putShort((short) keyBytes.length).put(keyBytes);
+
+        if (state != null) {
+            scratch.putShort((short) scheduleBytes.length).put(scheduleBytes)
+                    .putLong(state.lastFired())
+                    .putLong(state.deadline())
+                    .putLong(state.executions())
+                    .put((byte) (state.completed() ? 1 : 0));
+        }
+
+        scratch.flip();
+    }
+
+    private void append() {
+        int required = writePosition + RECORD_HEADER + scratch.remaining();
+        if (required > buffer.capacity()) grow(required);
+
+        writePosition = write(buffer, writePosition);
+        if (writePosition > nextCompaction && isWasteful()) compactQuietly();
+    }
+
+    private boolean isWasteful() {
+        return writePosition - FILE_HEADER > GARBAGE_RATIO * liveBytes;
+    }
+
+    private void compactQuietly() {
+        try {
+            swapCompacted();
+        } catch (IOException exception) {
+            nextCompaction = Math.max(COMPACTION_THRESHOLD, 2L * writePosition);
+            System.err.println("Failed to compact schedule store " + file + ", retrying once the log doubles: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Writes the live states to a sibling file through plain channel writes, so nothing keeps it mapped,
+     * then moves it over the log. The old channel is only closed once the move succeeded
+     */
+    private void swapCompacted() throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        ByteBuffer output = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE, FILE_HEADER + liveBytes + 256));
+        output.putInt(0, MAGIC).putInt(4, VERSION);
+
+        int position = FILE_HEADER;
+        for (TaskState state : live.values()) {
+            encode(PUT, state.key(), state);
+            int required = position + RECORD_HEADER + scratch.remaining();
+            if (required > output.capacity()) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(required, output.capacity() * 2));
+                output = grown.put(0, output, 0, position);
+            }
+
+            position = write(output, position);
+        }
+
+        try {
+            Files.deleteIfExists(compacted);
+            try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                output.limit(position).position(0);
+                while (output.hasRemaining()) target.write(output);
+                target.force(true);
+            }
+
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            Files.deleteIfExists(compacted);
+            throw exception;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            System.err.println("Failed to close superseded schedule store " + file + ": " + exception.getMessage());
+        }
+
+        buffer = null;
+        open();
+        writePosition = position;
+        nextCompaction = COMPACTION_THRESHOLD;
+        compactions++;
+    }
+
+    private int write(@NotNull ByteBuffer target, int position) {
+        int length = scratch.remaining();
+
+        crc.reset();
+        crc.update(scratch.duplicate());
+        target.put(position + RECORD_HEADER, scratch, scratch.position(), length);
+        target.putInt(position + 4, (int) crc.getValue());
+        target.putInt(position, length);
+
+        return position + RECORD_HEADER + length;
+    }
+
+    private void grow(int required) {
+        long size = buffer.capacity();
+        while (size < required) size *= 2;
+
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to grow schedule store " + file, exception);
+        }
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xFFFF];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int recordSize(@NotNull TaskState state) {
+        return RECORD_HEADER + 1 + 2 + utf8Length(state.key()) + 2 + utf8Length(state.scheduleString()) + 25;
+    }
+
+    private static int utf8Length(@NotNull String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character < 0x80) length++;
+            else if (character < 0x800) length += 2;
+            else if (Character.isHighSurrogate(character) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(character)) length++;
+            else length += 3;
+        }
+
+        return length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.mongenscave.mctimesapi.persistence;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Durable storage for the state of keyed tasks. The scheduler loads everything once on startup,
+ * then writes on every registration, firing and cancellation, so writes must be cheap.
+ */
+public interface ScheduleStore {
+    /**
+     * @return The latest state of every stored task by key
+     */
+    @NotNull Map<String, TaskState> load();
+
+    void save(@NotNull TaskState state);
+
+    void remove(@NotNull String key);
+
+    /**
+     * Make every write so far durable
+     */
+    default void flush() {}
+
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.mongenscave.mctimesapi.persistence;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Persisted state of a keyed task. Times are epoch milliseconds;
+ * {@code lastFired} and {@code deadline} use {@code ScheduleMatcher.NONE} when unset.
+ *
+ * @param completed Whether a one-time task has already fired
+ */
+public record TaskState(@NotNull String key,
+                        @NotNull String scheduleString,
+                        long lastFired,
+                        long deadline,
+                        long executions,
+                        boolean completed) {}
\ No newline at end of file
@@ -2,13 +2,28 @@ package com.mongenscave.mctimesapi.processor;
 
 import com.mongenscave.mctimesapi.annotations.Schedule;
 import com.mongenscave.mctimesapi.manager.SchedulerManager;
-import com.mongenscave.mctimesapi.models.ScheduleTask;
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Method;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Registers {@link Schedule} methods. Classes compiled with the TimesAPI annotation processor come with a generated
+ * {@link ScheduleRegistrar}, which is used as is. Other classes are scanned once and their invokers compiled,
+ * so registering further instances of the same class only binds the instance. Both are cached in a {@link ClassValue}.
+ */
 public class AnnotationProcessor {
+    private static final ClassValue<ScheduleRegistrar<Object>> REGISTRARS = new ClassValue<>() {
+        @Override
+        protected ScheduleRegistrar<Object> computeValue(@NotNull Class<?> type) {
+            ScheduleRegistrar<Object> generated = generatedRegistrar(type);
+            return generated != null ? generated : new ReflectiveRegistrar(type);
+        }
+    };
+
     private final SchedulerManager schedulerManager;
 
     public AnnotationProcessor(SchedulerManager schedulerManager) {
@@ -16,30 +31,73 @@ public class AnnotationProcessor {
     }
 
     public void processScheduledMethods(@NotNull Object instance) {
-        Class<?> clazz = instance.getClass();
+        processScheduledMethods(instance, instance);
+    }
+
+    /**
+     * Register every @Schedule method of the instance, grouping the tasks under the given owner.
+     * Schedules that fail to parse are reported without affecting the instance's other methods
+     *
+     * @throws IllegalArgumentException if a @Schedule method takes parameters or cannot be accessed
+     */
+    public void processScheduledMethods(@NotNull Object instance, @NotNull Object owner) {
+        Class<?> type = instance.getClass();
 
-        for (Method method : clazz.getDeclaredMethods()) {
-            Schedule scheduleAnnotation = method.getAnnotation(Schedule.class);
+        for (ScheduleRequest request : REGISTRARS.get(type).requests(instance, owner)) {
+            schedulerManager.scheduleTask(request).exceptionally(exception -> {
+                Throwable cause = exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+                System.err.println("Failed to schedule @Schedule method of " + type.getName() + ": " + cause.getMessage());
+                return null;
+            });
+        }
+    }
 
-            if (scheduleAnnotation != null) {
-                method.setAccessible(true);
+    @SuppressWarnings("unchecked")
+    private static ScheduleRegistrar<Object> generatedRegistrar(@NotNull Class<?> type) {
+        try {
+            Class<?> registrar = Class.forName(ScheduleRegistrar.nameFor(type.getName()), true, type.getClassLoader());
+            return (ScheduleRegistrar<Object>) registrar.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException exception) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError exception) {
+            System.err.println("Ignoring generated registrar of " + type.getName() + ": " + exception.getMessage());
+            return null;
+        }
+    }
 
-                String scheduleString = scheduleAnnotation.value();
-                boolean async = scheduleAnnotation.async();
+    private static final class ReflectiveRegistrar implements ScheduleRegistrar<Object> {
+        private final List<ScheduledMethod> methods;
 
-                Runnable task = () -> {
-                    try {
-                        method.invoke(instance);
-                    } catch (Exception exception) {
-                        exception.printStackTrace();
-                    }
-                };
+        private ReflectiveRegistrar(@NotNull Class<?> type) {
+            List<ScheduledMethod> methods = new ArrayList<>();
 
-                CompletableFuture<ScheduleTask> future = schedulerManager.scheduleTask(scheduleString, task, async);
-                future.thenAccept(scheduleTask -> {
-                    // Task scheduled successfully
-                });
+            for (Method method : type.getDeclaredMethods()) {
+                Schedule schedule = method.getAnnotation(Schedule.class);
+                if (schedule != null) methods.add(ScheduledMethod.compile(method, schedule));
             }
+
+            this.methods = List.copyOf(methods);
+        }
+
+        @Override
+        public @NotNull List<ScheduleRequest> requests(@NotNull Object instance, @NotNull Object owner) {
+            List<ScheduleRequest> requests = new ArrayList<>(methods.size());
+
+            for (ScheduledMethod method : methods) {
+                Schedule schedule = method.getSchedule();
+
+                requests.add(ScheduleRequest.builder()
+                        .scheduleString(schedule.value())
+                        .task(method.bind(instance))
+                        .async(schedule.async())
+                        .executionMode(schedule.mode())
+                        .overlapPolicy(schedule.overlap())
+                        .tags(List.of(schedule.tags()))
+                        .owner(owner)
+                        .build());
+            }
+
+            return requests;
         }
     }
 }
\ No newline at end of file
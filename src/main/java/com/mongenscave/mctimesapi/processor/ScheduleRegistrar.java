@@ -0,0 +1,31 @@
+package com.mongenscave.mctimesapi.processor;
+
+import com.mongenscave.mctimesapi.models.ScheduleRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Registration code generated at build time for a class with {@code @Schedule} methods, named after the class
+ * with a {@code _Schedules} suffix, e.g. {@code MyService_Schedules}. Generated registrars bind methods directly,
+ * so {@code registerScheduledClass} uses them instead of scanning the class when they are on the classpath.
+ *
+ * @param <T> The annotated class
+ */
+public interface ScheduleRegistrar<T> {
+    String SUFFIX = "_Schedules";
+
+    /**
+     * @return One request per {@code @Schedule} method of the instance, grouped under the given owner
+     */
+    @NotNull List<ScheduleRequest> requests(@NotNull T instance, @NotNull Object owner);
+
+    /**
+     * @param binaryName The binary name of the annotated class, e.g. {@code com.example.Outer$Inner}
+     * @return The binary name of its generated registrar, e.g. {@code com.example.Outer_Inner_Schedules}
+     */
+    static @NotNull String nameFor(@NotNull String binaryName) {
+        int packageEnd = binaryName.lastIndexOf('.') + 1;
+        return binaryName.substring(0, packageEnd) + binaryName.substring(packageEnd).replace('$', '_') + SUFFIX;
+    }
+}
\ No newline at end of file
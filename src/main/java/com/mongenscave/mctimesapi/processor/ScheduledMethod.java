@@ -0,0 +1,106 @@
+package com.mongenscave.mctimesapi.processor;
+
+import com.mongenscave.mctimesapi.annotations.Schedule;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * One {@link Schedule} method of a class with an invoker compiled once per class. The invoker is a
+ * {@link LambdaMetafactory} lambda, so firing it costs the same as a hand-written {@code () -> instance.method()}.
+ * Methods the metafactory cannot bind, e.g. in classes another module does not open, fall back to a bound {@link MethodHandle}.
+ */
+final class ScheduledMethod {
+    private static final MethodType RUN = MethodType.methodType(void.class);
+
+    private final String name;
+    private final Schedule schedule;
+    private final boolean isStatic;
+    private final MethodHandle factory;
+    private final MethodHandle handle;
+    private final Runnable shared;
+
+    private ScheduledMethod(@NotNull Method method, @NotNull Schedule schedule, MethodHandle factory, MethodHandle handle, Runnable shared) {
+        this.name = method.getDeclaringClass().getName() + "#" + method.getName();
+        this.schedule = schedule;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.factory = factory;
+        this.handle = handle;
+        this.shared = shared;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the method takes parameters or cannot be accessed at all
+     */
+    static @NotNull ScheduledMethod compile(@NotNull Method method, @NotNull Schedule schedule) {
+        if (method.getParameterCount() > 0) throw new IllegalArgumentException("@Schedule method " + method.getDeclaringClass().getName() + "#" + method.getName() + " must not take parameters");
+
+        MethodHandles.Lookup lookup;
+        MethodHandle target;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            target = lookup.unreflect(method);
+        } catch (IllegalAccessException exception) {
+            return new ScheduledMethod(method, schedule, null, reflectiveHandle(method), null);
+        }
+
+        try {
+            if (Modifier.isStatic(method.getModifiers())) {
+                CallSite callSite = LambdaMetafactory.metafactory(lookup, "run", MethodType.methodType(Runnable.class), RUN, target, RUN);
+                return new ScheduledMethod(method, schedule, null, null, (Runnable) callSite.getTarget().invokeExact());
+            }
+
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "run", MethodType.methodType(Runnable.class, method.getDeclaringClass()), RUN, target, RUN);
+            return new ScheduledMethod(method, schedule, callSite.getTarget().asType(MethodType.methodType(Runnable.class, Object.class)), null, null);
+        } catch (Throwable throwable) {
+            return new ScheduledMethod(method, schedule, null, target, null);
+        }
+    }
+
+    @NotNull Schedule getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * @return A runnable invoking this method on the given instance
+     */
+    @NotNull Runnable bind(@NotNull Object instance) {
+        if (shared != null) return shared;
+        if (factory == null) return bindHandle(isStatic ? handle : handle.bindTo(instance));
+
+        try {
+            return (Runnable) factory.invokeExact(instance);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Failed to bind " + name, throwable);
+        }
+    }
+
+    private static @NotNull Runnable bindHandle(@NotNull MethodHandle bound) {
+        MethodHandle exact = bound.asType(RUN);
+
+        return () -> {
+            try {
+                exact.invokeExact();
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new RuntimeException(throwable.getMessage(), throwable);
+            }
+        };
+    }
+
+    private static @NotNull MethodHandle reflectiveHandle(@NotNull Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (RuntimeException | IllegalAccessException exception) {
+            throw new IllegalArgumentException("@Schedule method " + method.getDeclaringClass().getName() + "#" + method.getName() + " is not accessible: " + exception.getMessage(), exception);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.mongenscave.mctimesapi.simulation;
+
+import com.mongenscave.mctimesapi.dispatch.SyncDispatcher;
+import com.mongenscave.mctimesapi.dispatch.TickBudgetQueue;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for a server's tick loop. Synchronous tasks queue up per anchor, like regions on Folia,
+ * and only run when {@link #tick()} is called, each queue within the same per-tick budget as on a server.
+ */
+public final class SimulatedTickDispatcher implements SyncDispatcher {
+    private static final Object GLOBAL = new Object();
+
+    private final Duration budget;
+    private final Map<Object, TickBudgetQueue> queues = new ConcurrentHashMap<>();
+    @Getter private long ticks;
+
+    public SimulatedTickDispatcher(@NotNull Duration budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public void dispatch(@NotNull ScheduleTask task, @NotNull Runnable execution) {
+        Object anchor = task.getAnchor() != null ? task.getAnchor() : GLOBAL;
+        queues.computeIfAbsent(anchor, ignored -> new TickBudgetQueue(budget)).offer(task, execution);
+    }
+
+    /**
+     * Runs one server tick: every queue with pending work is drained once within its budget
+     *
+     * @return the number of executions still waiting for a later tick
+     */
+    public synchronized int tick() {
+        ticks++;
+
+        for (TickBudgetQueue queue : new ArrayList<>(queues.values())) {
+            if (queue.size() > 0) queue.drain();
+        }
+
+        return getPending();
+    }
+
+    public int getPending() {
+        int pending = 0;
+        for (TickBudgetQueue queue : queues.values()) pending += queue.size();
+        return pending;
+    }
+
+    /**
+     * @return how many queue drains ended with work spilled into the next tick
+     */
+    public long getSpilledTicks() {
+        long spilled = 0;
+        for (TickBudgetQueue queue : queues.values()) spilled += queue.getSpilledTicks();
+        return spilled;
+    }
+
+    @Override
+    public void close() {
+        queues.values().forEach(TickBudgetQueue::retire);
+        queues.clear();
+    }
+}
\ No newline at end of file
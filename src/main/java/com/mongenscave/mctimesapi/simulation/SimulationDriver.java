@@ -0,0 +1,94 @@
+package com.mongenscave.mctimesapi.simulation;
+
+import com.mongenscave.mctimesapi.manager.SchedulerManager;
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Fast-forwards a simulated scheduler. Every due task is fired in deadline order on the
+ * calling thread, with the virtual clock set to each deadline while its tasks run,
+ * so a month of schedules replays in the time it takes to execute the tasks.
+ */
+public class SimulationDriver {
+    private static final Duration TICK = Duration.ofMillis(50);
+
+    private final SchedulerManager schedulerManager;
+    private final VirtualClock clock;
+
+    public SimulationDriver(@NotNull SchedulerManager schedulerManager, @NotNull VirtualClock clock) {
+        this.schedulerManager = schedulerManager;
+        this.clock = clock;
+    }
+
+    /**
+     * Advance the virtual clock by the given duration, firing everything due on the way
+     *
+     * @param duration How far to move the clock
+     * @return The number of firings dispatched
+     */
+    public long advanceBy(@NotNull Duration duration) {
+        return advanceTo(clock.instant().plus(duration));
+    }
+
+    /**
+     * Advance the virtual clock to the given instant, firing everything due on the way
+     *
+     * @param target The instant to stop at
+     * @return The number of firings dispatched
+     */
+    public long advanceTo(@NotNull Instant target) {
+        long targetMillis = target.toEpochMilli();
+        long fired = 0;
+
+        while (true) {
+            long deadline = schedulerManager.getNextDeadline();
+            if (deadline == ScheduleMatcher.NONE || deadline > targetMillis) break;
+
+            long now = clock.millis();
+            if (deadline > now) {
+                clock.setInstant(Instant.ofEpochMilli(deadline));
+                now = deadline;
+            }
+
+            fired += schedulerManager.dispatchDue(now);
+        }
+
+        if (target.isAfter(clock.instant())) clock.setInstant(target);
+        return fired;
+    }
+
+    /**
+     * Advance the virtual clock tick by tick, running one server tick on the stand-in dispatcher after each step,
+     * so sync tasks execute under the same per-tick budget as on a server
+     *
+     * @param ticks How many 50 ms ticks to simulate
+     * @param dispatcher The stand-in sync dispatcher configured on this scheduler
+     * @return The number of firings dispatched
+     */
+    public long advanceTicks(int ticks, @NotNull SimulatedTickDispatcher dispatcher) {
+        long fired = 0;
+
+        for (int tick = 0; tick < ticks; tick++) {
+            fired += advanceBy(TICK);
+            dispatcher.tick();
+        }
+
+        return fired;
+    }
+
+    /**
+     * Fire whatever is due at the current virtual time without moving the clock
+     *
+     * @return The number of firings dispatched
+     */
+    public long runDue() {
+        return schedulerManager.dispatchDue(clock.millis());
+    }
+
+    public @NotNull Instant now() {
+        return clock.instant();
+    }
+}
\ No newline at end of file
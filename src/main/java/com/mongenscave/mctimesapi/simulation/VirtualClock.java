@@ -0,0 +1,55 @@
+package com.mongenscave.mctimesapi.simulation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manually driven clock. Passing it to {@code SchedulerSettings#setClock} switches TimesAPI
+ * into simulation mode, where time only moves through {@link SimulationDriver}.
+ */
+public class VirtualClock extends Clock {
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    public VirtualClock(@NotNull Instant start, @NotNull ZoneId zone) {
+        this(new AtomicLong(start.toEpochMilli()), zone);
+    }
+
+    private VirtualClock(@NotNull AtomicLong millis, @NotNull ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    public void setInstant(@NotNull Instant instant) {
+        millis.set(instant.toEpochMilli());
+    }
+
+    public void advance(@NotNull Duration duration) {
+        millis.addAndGet(duration.toMillis());
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new VirtualClock(millis, zone);
+    }
+}
\ No newline at end of file
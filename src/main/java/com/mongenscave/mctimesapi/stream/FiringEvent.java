@@ -0,0 +1,15 @@
+package com.mongenscave.mctimesapi.stream;
+
+/**
+ * One firing of a streamed schedule. Times are epoch millis. The sequence counts every firing of the stream,
+ * including those dropped for a lagging subscriber, so a gap between two events tells how many were missed.
+ */
+public record FiringEvent(String scheduleString,
+                          long sequence,
+                          long deadline,
+                          long firedAt) {
+
+    public long latenessMillis() {
+        return Math.max(0, firedAt - deadline);
+    }
+}
\ No newline at end of file
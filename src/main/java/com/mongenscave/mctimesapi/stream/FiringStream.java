@@ -0,0 +1,112 @@
+package com.mongenscave.mctimesapi.stream;
+
+import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the firings of one schedule to any number of subscribers, backed by a single scheduled task.
+ * Every subscriber has its own bounded buffer and is served on the stream's executor, never on a scheduler thread.
+ * Subscribers apply backpressure through {@code request(n)}; a firing that does not fit into a lagging subscriber's
+ * buffer is dropped for that subscriber only and counted in {@link #getDropped()}.
+ * <p>
+ * Cancelling a subscription detaches only that subscriber. {@link #close()} completes every subscriber and
+ * cancels the backing task.
+ */
+public final class FiringStream implements Flow.Publisher<FiringEvent>, AutoCloseable {
+    @Getter private final String scheduleString;
+    private final SubmissionPublisher<FiringEvent> publisher;
+    private final Clock clock;
+    private final Consumer<FiringStream> onClose;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    @Getter private volatile ScheduleTask task;
+
+    /**
+     * @param executor Delivers events to subscribers
+     * @param bufferCapacity Firings buffered per subscriber before further ones are dropped
+     * @param onClose Called once when the stream closes, to cancel the backing task
+     */
+    public FiringStream(@NotNull String scheduleString, @NotNull Clock clock, @NotNull Executor executor, int bufferCapacity, @NotNull Consumer<FiringStream> onClose) {
+        this.scheduleString = scheduleString;
+        this.clock = clock;
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super FiringEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Bind the task whose firings this stream publishes. Called once the task is registered
+     */
+    public void attach(@NotNull ScheduleTask task) {
+        this.task = task;
+    }
+
+    /**
+     * Publish one firing of the backing task. Never blocks: full subscriber buffers drop the event
+     */
+    public void publish(@NotNull ScheduleTask task) {
+        long number = sequence.incrementAndGet();
+        if (closed.get()) return;
+
+        if (publisher.hasSubscribers()) {
+            FiringEvent event = new FiringEvent(scheduleString, number, task.getLastDeadline(), clock.millis());
+
+            try {
+                publisher.offer(event, (subscriber, ignored) -> {
+                    dropped.increment();
+                    return false;
+                });
+            } catch (IllegalStateException ignored) {
+                return;
+            }
+        }
+
+        if (task.getMatcher().getType() == ScheduleType.ONCE) close();
+    }
+
+    /**
+     * @return Firings published so far, including dropped ones
+     */
+    public long getFirings() {
+        return sequence.get();
+    }
+
+    /**
+     * @return Events dropped across all subscribers because their buffers were full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        publisher.close();
+        onClose.accept(this);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.mongenscave.mctimesapi.utils;
+
+import com.mongenscave.mctimesapi.exceptions.ScheduleParseException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass tokenizer for schedule strings. Positions refer to the original,
+ * untrimmed input so parse errors can point at the offending character.
+ * The text after {@code CRON} and {@code TZ} is taken verbatim, since cron fields and zone IDs
+ * use characters that no other token allows.
+ */
+final class ScheduleLexer {
+    enum TokenType {
+        WORD,
+        NUMBER,
+        ORDINAL,
+        TIME,
+        DATE,
+        AT,
+        COMMA,
+        DASH,
+        ZONE,
+        CRON,
+        END
+    }
+
+    record Token(TokenType type, String text, int position, int first, int second, int third) {
+        boolean isWord(@NotNull String word) {
+            return type == TokenType.WORD && text.equals(word);
+        }
+    }
+
+    private final String input;
+    private final int length;
+    private int cursor;
+
+    private ScheduleLexer(@NotNull String input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    static @NotNull List<Token> tokenize(@NotNull String input) {
+        return new ScheduleLexer(input).run();
+    }
+
+    private @NotNull List<Token> run() {
+        List<Token> tokens = new ArrayList<>(8);
+
+        while (true) {
+            while (cursor < length && Character.isWhitespace(input.charAt(cursor))) cursor++;
+            if (cursor >= length) break;
+
+            int start = cursor;
+            char current = input.charAt(cursor);
+
+            if (current == '@') tokens.add(symbol(TokenType.AT, "@", start));
+            else if (current == ',') tokens.add(symbol(TokenType.COMMA, ",", start));
+            else if (current == '-') tokens.add(symbol(TokenType.DASH, "-", start));
+            else if (isDigit(current)) tokens.add(numeric(start));
+            else if (Character.isLetter(current)) {
+                Token word = word(start);
+                tokens.add(word);
+                if (word.isWord("TZ") && hasZone()) tokens.add(zone());
+                else if (word.isWord("CRON")) tokens.add(cron());
+            }
+            else throw new ScheduleParseException("Unexpected character '" + current + "'", input, start);
+        }
+
+        tokens.add(new Token(TokenType.END, "", length, 0, 0, 0));
+        return tokens;
+    }
+
+    private @NotNull Token symbol(@NotNull TokenType type, @NotNull String text, int start) {
+        cursor++;
+        return new Token(type, text, start, 0, 0, 0);
+    }
+
+    private @NotNull Token word(int start) {
+        while (cursor < length && isWordPart(input.charAt(cursor))) cursor++;
+        return new Token(TokenType.WORD, input.substring(start, cursor).toUpperCase(), start, 0, 0, 0);
+    }
+
+    private @NotNull Token zone() {
+        int start = cursor;
+        while (cursor < length && !Character.isWhitespace(input.charAt(cursor))) cursor++;
+        return new Token(TokenType.ZONE, input.substring(start, cursor), start, 0, 0, 0);
+    }
+
+    /**
+     * Reads whitespace-separated cron fields up to the next {@code OR}, {@code EXCEPT} or {@code TZ}.
+     * The token text is the normalized expression; {@code first} and {@code second} delimit it in the input.
+     */
+    private @NotNull Token cron() {
+        StringBuilder text = new StringBuilder();
+        int start = -1;
+        int end = cursor;
+
+        while (true) {
+            while (cursor < length && Character.isWhitespace(input.charAt(cursor))) cursor++;
+
+            int fieldStart = cursor;
+            while (cursor < length && !Character.isWhitespace(input.charAt(cursor))) cursor++;
+
+            String field = input.substring(fieldStart, cursor).toUpperCase();
+            if (field.isEmpty() || field.equals("OR") || field.equals("EXCEPT") || field.equals("TZ")) {
+                cursor = fieldStart;
+                break;
+            }
+
+            if (start < 0) start = fieldStart;
+            if (!text.isEmpty()) text.append(' ');
+            text.append(field);
+            end = cursor;
+        }
+
+        if (start < 0) start = end;
+        return new Token(TokenType.CRON, text.toString(), start, start, end, 0);
+    }
+
+    private boolean hasZone() {
+        while (cursor < length && Character.isWhitespace(input.charAt(cursor))) cursor++;
+        return cursor < length;
+    }
+
+    private @NotNull Token numeric(int start) {
+        int value = digits();
+        int digitCount = cursor - start;
+
+        if (peek() == ':') {
+            cursor++;
+            int minuteStart = cursor;
+            int minute = digits();
+            if (cursor - minuteStart != 2) throw new ScheduleParseException("Expected two-digit minutes", input, minuteStart);
+            String text = (value < 10 ? "0" : "") + value + ':' + (minute < 10 ? "0" : "") + minute;
+            return new Token(TokenType.TIME, text, start, value, minute, 0);
+        }
+
+        if (digitCount == 4 && peek() == '-' && cursor + 1 < length && isDigit(input.charAt(cursor + 1))) {
+            cursor++;
+            int month = fixedDigits(2);
+            if (peek() != '-') throw new ScheduleParseException("Expected '-' in date", input, cursor);
+            cursor++;
+            int day = fixedDigits(2);
+            return new Token(TokenType.DATE, input.substring(start, cursor), start, value, month, day);
+        }
+
+        if (cursor < length && Character.isLetter(input.charAt(cursor))) {
+            int suffixStart = cursor;
+            while (cursor < length && Character.isLetter(input.charAt(cursor))) cursor++;
+
+            String suffix = input.substring(suffixStart, cursor).toUpperCase();
+            if (!suffix.equals("ST") && !suffix.equals("ND") && !suffix.equals("RD") && !suffix.equals("TH")) {
+                throw new ScheduleParseException("Expected ordinal suffix ST, ND, RD or TH", input, suffixStart);
+            }
+
+            return new Token(TokenType.ORDINAL, value + suffix, start, value, 0, 0);
+        }
+
+        return new Token(TokenType.NUMBER, Integer.toString(value), start, value, 0, 0);
+    }
+
+    private int digits() {
+        int start = cursor;
+        long value = 0;
+
+        while (cursor < length && isDigit(input.charAt(cursor))) {
+            value = value * 10 + (input.charAt(cursor++) - '0');
+            if (value > Integer.MAX_VALUE) throw new ScheduleParseException("Number is too large", input, start);
+        }
+
+        return (int) value;
+    }
+
+    private int fixedDigits(int count) {
+        int start = cursor;
+        int value = digits();
+        if (cursor - start != count) throw new ScheduleParseException("Expected " + count + " digits", input, start);
+        return value;
+    }
+
+    private char peek() {
+        return cursor < length ? input.charAt(cursor) : '\0';
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static boolean isWordPart(char character) {
+        return Character.isLetter(character) || character == '_';
+    }
+}
\ No newline at end of file
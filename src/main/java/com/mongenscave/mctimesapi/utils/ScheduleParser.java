@@ -1,122 +1,410 @@
 package com.mongenscave.mctimesapi.utils;
 
+import com.mongenscave.mctimesapi.exceptions.ScheduleParseException;
 import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.math.CronExpression;
+import com.mongenscave.mctimesapi.math.ScheduleCalendar;
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
 import com.mongenscave.mctimesapi.models.ScheduleConfig;
+import com.mongenscave.mctimesapi.utils.ScheduleLexer.Token;
+import com.mongenscave.mctimesapi.utils.ScheduleLexer.TokenType;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Parses schedule strings with a single-pass tokenizer and a recursive-descent grammar:
+ * <pre>
+ * schedule  := part (OR part)* [EXCEPT exclusion (, exclusion)*] [TZ zone-id]
+ * part      := EVERYDAY [time] | WEEKDAYS [time] | WEEKENDS [time] | CRON cron-fields
+ *            | EVERY every | ONCE [date] [time] | BETWEEN HH:MM - HH:MM [EVERY interval]
+ * every     := interval | day (, day)* [time] | ordinal [day] [time] | LAST (DAY | day) [time]
+ * interval  := [number] unit
+ * time      := @ HH:MM
+ * exclusion := day | WEEKDAYS | WEEKENDS | date | calendar-name
+ * </pre>
+ * {@code TZ} reads the times in that zone instead of the scheduler's. {@code OR} and {@code EXCEPT}
+ * combine wall-clock schedules only, since intervals and one-time schedules have no calendar to merge.
+ * Compiled schedules are interned in a bounded cache, so registering the same string
+ * again only costs a hash lookup and returns the shared immutable config.
+ */
 public class ScheduleParser {
-    private static final Pattern TIME_PATTERN = Pattern.compile("(\\d{1,2}):(\\d{2})");
-    private static final Pattern DATE_PATTERN = Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})");
-    private static final Pattern INTERVAL_PATTERN = Pattern.compile("EVERY (\\d+) (DAYS?|HOURS?|MINUTES?|MIN)");
+    private static final int MAX_CACHED_SCHEDULES = 4096;
+    private static final long MILLIS_PER_TICK = 50;
+    private static final Map<String, ScheduleMatcher> CACHE = new ConcurrentHashMap<>();
 
     public static @NotNull ScheduleConfig parse(String scheduleString) {
-        scheduleString = scheduleString.trim().toUpperCase();
+        return compile(scheduleString).getConfig();
+    }
+
+    /**
+     * Parse and compile a schedule string, reusing the cached matcher when the same
+     * (or an equivalently normalized) string was seen before
+     *
+     * @param scheduleString The schedule instruction
+     * @return The shared compiled schedule
+     * @throws ScheduleParseException if the string does not follow the schedule grammar
+     */
+    public static @NotNull ScheduleMatcher compile(@NotNull String scheduleString) {
+        ScheduleMatcher cached = CACHE.get(scheduleString);
+        if (cached != null) return cached;
 
-        ScheduleConfig config = new ScheduleConfig();
-        Matcher timeMatcher = TIME_PATTERN.matcher(scheduleString);
+        List<Token> tokens = ScheduleLexer.tokenize(scheduleString);
+        String normalized = normalize(tokens);
 
-        if (timeMatcher.find()) {
-            int hour = Integer.parseInt(timeMatcher.group(1));
-            int minute = Integer.parseInt(timeMatcher.group(2));
-            config.setTime(LocalTime.of(hour, minute));
+        ScheduleMatcher matcher = CACHE.get(normalized);
+        if (matcher == null) {
+            matcher = ScheduleMatcher.compile(new Grammar(scheduleString, tokens).parse());
+            cache(normalized, matcher);
         }
 
-        if (scheduleString.startsWith("EVERYDAY")) config.setType(ScheduleType.DAILY);
-        else if (scheduleString.startsWith("WEEKDAYS")) config.setType(ScheduleType.WEEKDAYS);
-        else if (scheduleString.startsWith("WEEKENDS")) config.setType(ScheduleType.WEEKENDS);
-        else if (scheduleString.contains("EVERY") && scheduleString.contains("@")) parseWeeklySchedule(scheduleString, config);
-        else if (scheduleString.contains("EVERY") && (scheduleString.contains("ST")
-                || scheduleString.contains("ND")
-                || scheduleString.contains("TH"))) parseMonthlySchedule(scheduleString, config);
-        else if (INTERVAL_PATTERN.matcher(scheduleString).find()) parseIntervalSchedule(scheduleString, config);
-        else if (scheduleString.startsWith("ONCE")) parseOnceSchedule(scheduleString, config);
-        else if (scheduleString.contains("BETWEEN")) parseRangeSchedule(scheduleString, config);
+        cache(scheduleString, matcher);
+        return matcher;
+    }
 
-        return config;
+    static @NotNull ScheduleConfig parseUncached(@NotNull String scheduleString) {
+        return new Grammar(scheduleString, ScheduleLexer.tokenize(scheduleString)).parse();
     }
 
-    private static void parseWeeklySchedule(@NotNull String scheduleString, @NotNull ScheduleConfig config) {
-        config.setType(ScheduleType.WEEKLY);
-        Set<DayOfWeek> days = new HashSet<>();
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
 
-        if (scheduleString.contains("MON")) days.add(DayOfWeek.MONDAY);
-        if (scheduleString.contains("TUE")) days.add(DayOfWeek.TUESDAY);
-        if (scheduleString.contains("WED")) days.add(DayOfWeek.WEDNESDAY);
-        if (scheduleString.contains("THU")) days.add(DayOfWeek.THURSDAY);
-        if (scheduleString.contains("FRI")) days.add(DayOfWeek.FRIDAY);
-        if (scheduleString.contains("SAT")) days.add(DayOfWeek.SATURDAY);
-        if (scheduleString.contains("SUN")) days.add(DayOfWeek.SUNDAY);
+    private static void cache(@NotNull String key, @NotNull ScheduleMatcher matcher) {
+        if (CACHE.size() >= MAX_CACHED_SCHEDULES) {
+            Iterator<String> keys = CACHE.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
 
-        config.setDaysOfWeek(days);
+        CACHE.putIfAbsent(key, matcher);
     }
 
-    private static void parseMonthlySchedule(@NotNull String scheduleString, @NotNull ScheduleConfig config) {
-        config.setType(ScheduleType.MONTHLY);
+    private static @NotNull String normalize(@NotNull List<Token> tokens) {
+        StringBuilder builder = new StringBuilder();
 
-        if (scheduleString.contains("1ST")) config.setDayOfMonth(1);
-        else if (scheduleString.contains("15TH")) config.setDayOfMonth(15);
-        else if (scheduleString.contains("LAST DAY")) config.setLastDayOfMonth(true);
-        else if (scheduleString.contains("1ST MON")) config.setFirstWeekdayOfMonth(DayOfWeek.MONDAY);
-        else if (scheduleString.contains("LAST FRI")) config.setLastWeekdayOfMonth(DayOfWeek.FRIDAY);
+        for (Token token : tokens) {
+            if (token.type() == TokenType.END) break;
+            if (!builder.isEmpty()) builder.append(' ');
+            builder.append(token.text());
+        }
+
+        return builder.toString();
     }
 
-    private static void parseIntervalSchedule(String scheduleString, ScheduleConfig config) {
-        Matcher matcher = INTERVAL_PATTERN.matcher(scheduleString);
+    private static final class Grammar {
+        private final String input;
+        private final List<Token> tokens;
+        private ScheduleConfig.ScheduleConfigBuilder config;
+        private int index;
+
+        private Grammar(@NotNull String input, @NotNull List<Token> tokens) {
+            this.input = input;
+            this.tokens = tokens;
+        }
+
+        private @NotNull ScheduleConfig parse() {
+            List<ScheduleConfig> parts = new ArrayList<>();
+            List<Token> starts = new ArrayList<>();
 
-        if (matcher.find()) {
-            int value = Integer.parseInt(matcher.group(1));
-            String unit = matcher.group(2);
+            starts.add(peek());
+            parts.add(part());
 
-            config.setType(ScheduleType.INTERVAL);
+            while (peek().isWord("OR")) {
+                next();
+                starts.add(peek());
+                parts.add(part());
+            }
 
-            if (unit.startsWith("DAY")) config.setIntervalDuration(Duration.ofDays(value));
-            else if (unit.startsWith("HOUR")) config.setIntervalDuration(Duration.ofHours(value));
-            else if (unit.startsWith("MIN")) config.setIntervalDuration(Duration.ofMinutes(value));
+            if (parts.size() > 1 || peek().isWord("EXCEPT")) {
+                for (int i = 0; i < parts.size(); i++) {
+                    ScheduleType type = parts.get(i).getType();
+                    if (type == ScheduleType.INTERVAL || type == ScheduleType.ONCE) throw error("Intervals and one-time schedules cannot be combined with OR or EXCEPT", starts.get(i));
+                }
+
+                config = ScheduleConfig.builder().type(ScheduleType.COMPOUND).alternatives(List.copyOf(parts));
+                if (peek().isWord("EXCEPT")) exclusions();
+            } else {
+                config = parts.getFirst().toBuilder();
+            }
+
+            optionalZone();
+
+            Token trailing = peek();
+            if (trailing.type() != TokenType.END) throw error("Unexpected '" + trailing.text() + "'", trailing);
+
+            return config.build();
         }
-    }
 
-    private static void parseOnceSchedule(String scheduleString, @NotNull ScheduleConfig config) {
-        config.setType(ScheduleType.ONCE);
+        private @NotNull ScheduleConfig part() {
+            config = ScheduleConfig.builder();
+            Token first = next();
 
-        Matcher dateMatcher = DATE_PATTERN.matcher(scheduleString);
+            if (first.isWord("EVERYDAY")) daily(ScheduleType.DAILY);
+            else if (first.isWord("WEEKDAYS")) daily(ScheduleType.WEEKDAYS);
+            else if (first.isWord("WEEKENDS")) daily(ScheduleType.WEEKENDS);
+            else if (first.isWord("EVERY")) every();
+            else if (first.isWord("ONCE")) once();
+            else if (first.isWord("BETWEEN")) range();
+            else if (first.isWord("CRON")) cron();
+            else throw error("Expected EVERYDAY, WEEKDAYS, WEEKENDS, EVERY, ONCE, BETWEEN or CRON", first);
 
-        if (dateMatcher.find()) {
-            int year = Integer.parseInt(dateMatcher.group(1));
-            int month = Integer.parseInt(dateMatcher.group(2));
-            int day = Integer.parseInt(dateMatcher.group(3));
-            config.setSpecificDate(LocalDate.of(year, month, day));
+            return config.build();
         }
-    }
 
-    private static void parseRangeSchedule(String scheduleString, @NotNull ScheduleConfig config) {
-        config.setType(ScheduleType.RANGE);
+        private void cron() {
+            Token expression = expect(TokenType.CRON, "Expected cron fields after CRON");
+            config.type(ScheduleType.CRON).cron(CronExpression.parse(input, expression.first(), expression.second()));
+        }
+
+        /**
+         * Only a rule that excludes every weekday is rejected here. Whether dates and calendars leave a
+         * firing depends on the time and on calendars registered later, so the scheduler checks that
+         * against its own clock when the task is registered
+         */
+        private void exclusions() {
+            Token except = next();
+
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            Set<LocalDate> dates = new HashSet<>();
+            Set<String> calendars = new LinkedHashSet<>();
+
+            while (true) {
+                Token token = next();
+                DayOfWeek day = dayOfWeekOrNull(token);
+
+                if (token.type() == TokenType.DATE) dates.add(date(token));
+                else if (token.isWord("WEEKENDS")) days.addAll(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+                else if (token.isWord("WEEKDAYS")) days.addAll(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+                else if (day != null) days.add(day);
+                else if (token.type() == TokenType.WORD) {
+                    if (ScheduleCalendar.get(token.text()) == null) throw error("Unknown calendar " + token.text() + "; register it with ScheduleCalendar.register first", token);
+                    calendars.add(token.text());
+                } else {
+                    throw error("Expected a weekday, WEEKDAYS, WEEKENDS, a date or a calendar name after EXCEPT", token);
+                }
+
+                if (peek().type() != TokenType.COMMA) break;
+                next();
+            }
+
+            if (days.size() == DayOfWeek.values().length) throw error("Schedule never fires because every day is excluded", except);
+
+            config.excludedDaysOfWeek(Collections.unmodifiableSet(days))
+                    .excludedDates(Set.copyOf(dates))
+                    .excludedCalendars(Collections.unmodifiableSet(calendars));
+        }
+
+        private void daily(@NotNull ScheduleType type) {
+            config.type(type);
+            optionalTime();
+        }
+
+        private void every() {
+            Token token = peek();
+
+            if (token.type() == TokenType.NUMBER || isUnit(token)) {
+                if (token.isWord("DAY") && peekAhead(1).type() == TokenType.AT) {
+                    next();
+                    daily(ScheduleType.DAILY);
+                    return;
+                }
+
+                config.type(ScheduleType.INTERVAL).intervalDuration(interval());
+            } else if (token.type() == TokenType.ORDINAL) {
+                monthlyOrdinal(next());
+            } else if (token.isWord("LAST")) {
+                next();
+                config.type(ScheduleType.MONTHLY);
+
+                Token target = next();
+                if (target.isWord("DAY")) config.lastDayOfMonth(true);
+                else config.lastWeekdayOfMonth(dayOfWeek(target, "Expected DAY or a weekday after LAST"));
+                optionalTime();
+            } else if (dayOfWeekOrNull(token) != null) {
+                Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+                days.add(dayOfWeek(next(), "Expected a weekday"));
+
+                while (peek().type() == TokenType.COMMA) {
+                    next();
+                    days.add(dayOfWeek(next(), "Expected a weekday after ','"));
+                }
+
+                config.type(ScheduleType.WEEKLY).daysOfWeek(Collections.unmodifiableSet(days));
+                optionalTime();
+            } else {
+                throw error("Expected an interval, weekday, ordinal or LAST after EVERY", token);
+            }
+        }
+
+        private void monthlyOrdinal(@NotNull Token ordinal) {
+            config.type(ScheduleType.MONTHLY);
+
+            DayOfWeek weekday = dayOfWeekOrNull(peek());
+            if (weekday != null) {
+                if (ordinal.first() < 1 || ordinal.first() > 5) throw error("Only 1ST to 5TH can precede a weekday", ordinal);
+                next();
+                config.weekdayOfMonth(weekday).weekdayOrdinal(ordinal.first());
+                if (ordinal.first() == 1) config.firstWeekdayOfMonth(weekday);
+            } else {
+                if (ordinal.first() < 1 || ordinal.first() > 31) throw error("Day of month must be between 1 and 31", ordinal);
+                config.dayOfMonth(ordinal.first());
+            }
+
+            optionalTime();
+        }
+
+        private void once() {
+            config.type(ScheduleType.ONCE);
+
+            if (peek().type() == TokenType.DATE) config.specificDate(date(next()));
+
+            optionalTime();
+        }
+
+        private void range() {
+            config.type(ScheduleType.RANGE);
+            config.startTime(time(expect(TokenType.TIME, "Expected start time HH:MM")));
+            expect(TokenType.DASH, "Expected '-' between start and end time");
+            config.endTime(time(expect(TokenType.TIME, "Expected end time HH:MM")));
+
+            if (peek().isWord("EVERY")) {
+                next();
+                config.rangeInterval(interval());
+            }
+        }
+
+        private @NotNull Duration interval() {
+            Token amountToken = peek();
+            int amount = 1;
+
+            if (amountToken.type() == TokenType.NUMBER) {
+                next();
+                amount = amountToken.first();
+                if (amount <= 0) throw error("Interval must be greater than zero", amountToken);
+            }
 
-        Pattern rangePattern = Pattern.compile("BETWEEN (\\d{1,2}):(\\d{2})-(\\d{1,2}):(\\d{2})");
-        Matcher matcher = rangePattern.matcher(scheduleString);
+            Token unit = next();
+            if (!isUnit(unit)) throw error("Expected DAYS, HOURS, MINUTES, SECONDS, MILLIS or TICKS", unit);
 
-        if (matcher.find()) {
-            LocalTime startTime = LocalTime.of(
-                    Integer.parseInt(matcher.group(1)),
-                    Integer.parseInt(matcher.group(2))
-            );
-            LocalTime endTime = LocalTime.of(
-                    Integer.parseInt(matcher.group(3)),
-                    Integer.parseInt(matcher.group(4))
-            );
+            return switch (unitKey(unit.text())) {
+                case "DAY" -> Duration.ofDays(amount);
+                case "HOUR" -> Duration.ofHours(amount);
+                case "MIN" -> Duration.ofMinutes(amount);
+                case "SEC" -> Duration.ofSeconds(amount);
+                case "MS" -> Duration.ofMillis(amount);
+                default -> Duration.ofMillis(amount * MILLIS_PER_TICK);
+            };
+        }
+
+        private void optionalTime() {
+            if (peek().type() != TokenType.AT) return;
+
+            next();
+            config.time(time(expect(TokenType.TIME, "Expected HH:MM after '@'")));
+        }
+
+        private void optionalZone() {
+            if (!peek().isWord("TZ")) return;
+
+            next();
+            Token zone = expect(TokenType.ZONE, "Expected a zone ID after TZ, e.g. Europe/Budapest");
+            try {
+                config.zone(ZoneId.of(zone.text()));
+            } catch (DateTimeException exception) {
+                throw error("Unknown time zone " + zone.text(), zone);
+            }
+        }
+
+        private @NotNull LocalDate date(@NotNull Token token) {
+            try {
+                return LocalDate.of(token.first(), token.second(), token.third());
+            } catch (DateTimeException exception) {
+                throw error("Invalid date " + token.text(), token);
+            }
+        }
 
-            config.setStartTime(startTime);
-            config.setEndTime(endTime);
+        private @NotNull LocalTime time(@NotNull Token token) {
+            if (token.first() > 23 || token.second() > 59) throw error("Invalid time " + token.text(), token);
+            return LocalTime.of(token.first(), token.second());
+        }
+
+        private @NotNull DayOfWeek dayOfWeek(@NotNull Token token, @NotNull String message) {
+            DayOfWeek day = dayOfWeekOrNull(token);
+            if (day == null) throw error(message, token);
+            return day;
+        }
+
+        private static DayOfWeek dayOfWeekOrNull(@NotNull Token token) {
+            if (token.type() != TokenType.WORD) return null;
+
+            return switch (token.text()) {
+                case "MON", "MONDAY" -> DayOfWeek.MONDAY;
+                case "TUE", "TUESDAY" -> DayOfWeek.TUESDAY;
+                case "WED", "WEDNESDAY" -> DayOfWeek.WEDNESDAY;
+                case "THU", "THURSDAY" -> DayOfWeek.THURSDAY;
+                case "FRI", "FRIDAY" -> DayOfWeek.FRIDAY;
+                case "SAT", "SATURDAY" -> DayOfWeek.SATURDAY;
+                case "SUN", "SUNDAY" -> DayOfWeek.SUNDAY;
+                default -> null;
+            };
+        }
+
+        private static boolean isUnit(@NotNull Token token) {
+            return token.type() == TokenType.WORD && unitKey(token.text()) != null;
+        }
+
+        private static String unitKey(@NotNull String unit) {
+            return switch (unit) {
+                case "DAY", "DAYS" -> "DAY";
+                case "HOUR", "HOURS" -> "HOUR";
+                case "MINUTE", "MINUTES", "MIN", "MINS" -> "MIN";
+                case "SECOND", "SECONDS", "SEC", "SECS" -> "SEC";
+                case "MILLISECOND", "MILLISECONDS", "MILLIS", "MS" -> "MS";
+                case "TICK", "TICKS" -> "TICK";
+                default -> null;
+            };
+        }
+
+        private @NotNull Token expect(@NotNull TokenType type, @NotNull String message) {
+            Token token = next();
+            if (token.type() != type) throw error(message, token);
+            return token;
+        }
+
+        private @NotNull Token next() {
+            Token token = tokens.get(index);
+            if (token.type() != TokenType.END) index++;
+            return token;
+        }
+
+        private @NotNull Token peek() {
+            return tokens.get(index);
+        }
+
+        private @NotNull Token peekAhead(int offset) {
+            return tokens.get(Math.min(index + offset, tokens.size() - 1));
+        }
 
-            if (scheduleString.contains("EVERY HOUR")) config.setRangeInterval(Duration.ofHours(1));
+        private @NotNull ScheduleParseException error(@NotNull String message, @NotNull Token token) {
+            return new ScheduleParseException(message, input, token.position());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.mongenscave.mctimesapi.workflow;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Work of one workflow step. The returned value is handed to the steps that depend on this one
+ */
+@FunctionalInterface
+public interface StepAction {
+    Object run(@NotNull StepInputs inputs) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.mongenscave.mctimesapi.workflow;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Results of the steps a step depends on, for one run of the workflow
+ */
+public final class StepInputs {
+    @Getter private final long runId;
+    private final Map<String, Object> results;
+
+    StepInputs(long runId, @NotNull Map<String, Object> results) {
+        this.runId = runId;
+        this.results = results;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the step is not a dependency of the current step
+     */
+    public Object get(@NotNull String step) {
+        if (!results.containsKey(step)) throw new IllegalArgumentException("'" + step + "' is not a dependency of this step");
+        return results.get(step);
+    }
+
+    public <T> T get(@NotNull String step, @NotNull Class<T> type) {
+        return type.cast(get(step));
+    }
+}
\ No newline at end of file
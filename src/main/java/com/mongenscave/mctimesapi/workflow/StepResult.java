@@ -0,0 +1,14 @@
+package com.mongenscave.mctimesapi.workflow;
+
+import com.mongenscave.mctimesapi.identifiers.StepStatus;
+
+/**
+ * Outcome of one step in one run. Times are in microseconds and zero for skipped steps;
+ * the wait is the time between the step's dependencies completing and the step starting.
+ */
+public record StepResult(String step,
+                         StepStatus status,
+                         Object value,
+                         Throwable failure,
+                         long waitMicros,
+                         long durationMicros) {}
\ No newline at end of file
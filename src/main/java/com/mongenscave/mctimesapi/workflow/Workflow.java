@@ -0,0 +1,307 @@
+package com.mongenscave.mctimesapi.workflow;
+
+import com.mongenscave.mctimesapi.identifiers.StepStatus;
+import com.mongenscave.mctimesapi.metrics.TaskMetrics;
+import com.mongenscave.mctimesapi.metrics.TaskMetricsSnapshot;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A DAG of steps that runs as one unit, e.g. {@code snapshot -> compress -> upload}. Every step is handed to the
+ * executor as soon as the steps it depends on have succeeded, so independent branches run in parallel and no thread
+ * waits for another. A failed step skips everything that depends on it, directly or not, while unrelated branches finish.
+ * <p>
+ * A run does not start while the previous one is still going; such firings are counted as skipped.
+ * Metrics are kept per step and for whole runs.
+ */
+public final class Workflow {
+    private static final AtomicLong NEXT_RUN = new AtomicLong(1);
+
+    @Getter private final String name;
+    private final Step[] steps;
+    private final Consumer<WorkflowResult> listener;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong runs = new AtomicLong();
+    private final TaskMetrics runMetrics = new TaskMetrics(false);
+
+    private Workflow(@NotNull String name, @NotNull Step[] steps, Consumer<WorkflowResult> listener) {
+        this.name = name;
+        this.steps = steps;
+        this.listener = listener;
+    }
+
+    public static @NotNull Builder builder(@NotNull String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Start a run on the given executor
+     *
+     * @return The run's result, or null if the previous run is still going
+     */
+    public CompletableFuture<WorkflowResult> start(@NotNull Executor executor) {
+        if (!running.compareAndSet(false, true)) {
+            runMetrics.recordSkipped();
+            return null;
+        }
+
+        long runId = NEXT_RUN.getAndIncrement();
+        long startedNanos = System.nanoTime();
+
+        CompletableFuture<StepResult>[] futures = newFutures(steps.length);
+
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[step.dependencies.length];
+            for (int d = 0; d < dependencies.length; d++) dependencies[d] = futures[step.dependencies[d]];
+
+            CompletableFuture<Void> ready = dependencies.length == 0 ? CompletableFuture.completedFuture(null) : CompletableFuture.allOf(dependencies);
+            futures[i] = ready.thenCompose(ignored -> submit(step, futures, runId, executor));
+        }
+
+        return CompletableFuture.allOf(futures)
+                .thenApply(ignored -> finish(futures, runId, startedNanos))
+                .whenComplete((result, throwable) -> {
+                    if (throwable == null) return;
+
+                    running.set(false);
+                    runMetrics.recordFailure(throwable);
+                    System.err.println("Workflow '" + name + "' aborted: " + throwable.getMessage());
+                });
+    }
+
+    /**
+     * @return Per-step metrics, every step after the steps it depends on
+     */
+    public @NotNull Map<String, TaskMetricsSnapshot> getStepMetrics() {
+        Map<String, TaskMetricsSnapshot> snapshots = new LinkedHashMap<>();
+        for (Step step : steps) snapshots.put(step.name, step.metrics.snapshot(step.executions.get()));
+        return snapshots;
+    }
+
+    /**
+     * @return Metrics of whole runs: failures are runs with a failed step, skipped are firings that overlapped a running run
+     */
+    public @NotNull TaskMetricsSnapshot getRunMetrics() {
+        return runMetrics.snapshot(runs.get());
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public @NotNull List<String> getSteps() {
+        return Arrays.stream(steps).map(step -> step.name).toList();
+    }
+
+    private @NotNull CompletableFuture<StepResult> submit(@NotNull Step step, @NotNull CompletableFuture<StepResult>[] futures, long runId, @NotNull Executor executor) {
+        Map<String, Object> inputs = new HashMap<>();
+
+        for (int dependency : step.dependencies) {
+            StepResult result = futures[dependency].join();
+            if (result.status() != StepStatus.SUCCEEDED) {
+                step.metrics.recordSkipped();
+                return CompletableFuture.completedFuture(new StepResult(step.name, StepStatus.SKIPPED, null, null, 0, 0));
+            }
+
+            inputs.put(result.step(), result.value());
+        }
+
+        StepExecution execution = new StepExecution(step, new StepInputs(runId, inputs));
+        try {
+            executor.execute(execution);
+        } catch (RuntimeException exception) {
+            execution.reject(exception);
+        }
+
+        return execution.future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull CompletableFuture<T>[] newFutures(int length) {
+        return (CompletableFuture<T>[]) new CompletableFuture<?>[length];
+    }
+
+    private @NotNull WorkflowResult finish(@NotNull CompletableFuture<StepResult>[] futures, long runId, long startedNanos) {
+        Map<String, StepResult> results = new LinkedHashMap<>();
+        StepResult failed = null;
+
+        for (CompletableFuture<StepResult> future : futures) {
+            StepResult result = future.join();
+            results.put(result.step(), result);
+            if (failed == null && result.status() == StepStatus.FAILED) failed = result;
+        }
+
+        long durationMicros = (System.nanoTime() - startedNanos) / 1_000;
+        WorkflowResult result = new WorkflowResult(name, runId, results, durationMicros);
+
+        runs.incrementAndGet();
+        runMetrics.recordExecution(0, durationMicros);
+        if (failed != null) runMetrics.recordFailure(failed.failure());
+        running.set(false);
+
+        if (listener != null) {
+            try {
+                listener.accept(result);
+            } catch (Exception exception) {
+                System.err.println("Error in completion listener of workflow '" + name + "': " + exception.getMessage());
+            }
+        } else if (failed != null) {
+            System.err.println("Workflow '" + name + "' failed at step '" + failed.step() + "': " + failed.failure().getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * One step of one run, handed to the executor. If the executor drops it, e.g. under a discarding
+     * rejection policy, {@link #reject} fails the step so the run still completes.
+     */
+    public static final class StepExecution implements Runnable {
+        private final Step step;
+        private final StepInputs inputs;
+        private final CompletableFuture<StepResult> future = new CompletableFuture<>();
+        private final long readyNanos = System.nanoTime();
+
+        private StepExecution(@NotNull Step step, @NotNull StepInputs inputs) {
+            this.step = step;
+            this.inputs = inputs;
+        }
+
+        @Override
+        public void run() {
+            long startedNanos = System.nanoTime();
+            long waitMicros = (startedNanos - readyNanos) / 1_000;
+            step.executions.incrementAndGet();
+
+            StepResult result;
+            try {
+                Object value = step.action.run(inputs);
+                result = new StepResult(step.name, StepStatus.SUCCEEDED, value, null, waitMicros, (System.nanoTime() - startedNanos) / 1_000);
+            } catch (Exception exception) {
+                step.metrics.recordFailure(exception);
+                result = new StepResult(step.name, StepStatus.FAILED, null, exception, waitMicros, (System.nanoTime() - startedNanos) / 1_000);
+            } catch (Error error) {
+                step.metrics.recordFailure(error);
+                future.complete(new StepResult(step.name, StepStatus.FAILED, null, error, waitMicros, (System.nanoTime() - startedNanos) / 1_000));
+                throw error;
+            }
+
+            step.metrics.recordExecution(result.waitMicros(), result.durationMicros());
+            future.complete(result);
+        }
+
+        /**
+         * Fail this step without running it
+         */
+        public void reject(@NotNull Throwable reason) {
+            step.metrics.recordRejected();
+            future.complete(new StepResult(step.name, StepStatus.FAILED, null, reason, 0, 0));
+        }
+    }
+
+    private record Definition(@NotNull String name, @NotNull StepAction action, @NotNull List<String> dependsOn) {}
+
+    private static final class Step {
+        private final String name;
+        private final StepAction action;
+        private final int[] dependencies;
+        private final TaskMetrics metrics = new TaskMetrics(false);
+        private final AtomicLong executions = new AtomicLong();
+
+        private Step(@NotNull Definition definition, int @NotNull [] dependencies) {
+            this.name = definition.name();
+            this.action = definition.action();
+            this.dependencies = dependencies;
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final Map<String, Definition> steps = new LinkedHashMap<>();
+        private Consumer<WorkflowResult> listener;
+
+        private Builder(@NotNull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Add a step that runs once all of the given steps have succeeded
+         *
+         * @throws IllegalArgumentException if a step with this name already exists
+         */
+        public @NotNull Builder step(@NotNull String step, @NotNull StepAction action, @NotNull String... dependsOn) {
+            if (steps.containsKey(step)) throw new IllegalArgumentException("Workflow '" + name + "' already has a step '" + step + "'");
+
+            steps.put(step, new Definition(step, action, List.copyOf(new LinkedHashSet<>(List.of(dependsOn)))));
+            return this;
+        }
+
+        /**
+         * Receive every run's result. Without a listener, failed runs are reported to {@code System.err}
+         */
+        public @NotNull Builder onComplete(@NotNull Consumer<WorkflowResult> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Resolve dependencies and order the steps so every step comes after the steps it depends on
+         *
+         * @throws IllegalArgumentException if the workflow is empty, depends on an unknown step or contains a cycle
+         */
+        public @NotNull Workflow build() {
+            if (steps.isEmpty()) throw new IllegalArgumentException("Workflow '" + name + "' has no steps");
+
+            for (Definition step : steps.values()) {
+                for (String dependency : step.dependsOn()) {
+                    if (!steps.containsKey(dependency)) throw new IllegalArgumentException("Step '" + step.name() + "' of workflow '" + name + "' depends on unknown step '" + dependency + "'");
+                }
+            }
+
+            List<Definition> ordered = new ArrayList<>(steps.size());
+            Map<String, Integer> positions = new HashMap<>();
+            Map<String, Integer> pending = new HashMap<>();
+            for (Definition step : steps.values()) pending.put(step.name(), step.dependsOn().size());
+
+            while (ordered.size() < steps.size()) {
+                boolean progressed = false;
+
+                for (Definition step : steps.values()) {
+                    if (pending.get(step.name()) != 0 || positions.containsKey(step.name())) continue;
+
+                    positions.put(step.name(), ordered.size());
+                    ordered.add(step);
+                    progressed = true;
+
+                    for (Definition dependent : steps.values()) {
+                        if (dependent.dependsOn().contains(step.name())) pending.merge(dependent.name(), -1, Integer::sum);
+                    }
+                }
+
+                if (!progressed) throw new IllegalArgumentException("Workflow '" + name + "' contains a dependency cycle");
+            }
+
+            Step[] compiled = new Step[ordered.size()];
+            for (int i = 0; i < compiled.length; i++) {
+                Definition step = ordered.get(i);
+                compiled[i] = new Step(step, step.dependsOn().stream().mapToInt(positions::get).toArray());
+            }
+
+            return new Workflow(name, compiled, listener);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.mongenscave.mctimesapi.workflow;
+
+import com.mongenscave.mctimesapi.identifiers.StepStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Outcome of one run of a workflow, with every step listed after the steps it depends on
+ */
+public record WorkflowResult(String workflow,
+                             long runId,
+                             Map<String, StepResult> steps,
+                             long durationMicros) {
+    public boolean isSuccessful() {
+        for (StepResult result : steps.values()) if (result.status() != StepStatus.SUCCEEDED) return false;
+        return true;
+    }
+
+    public StepResult get(@NotNull String step) {
+        return steps.get(step);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.mongenscave.mctimesapi.manager;
+
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
+import com.mongenscave.mctimesapi.models.ScheduleTask;
+import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueueTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void pollsTasksInDeadlineOrder() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        List<ScheduleTask> tasks = shuffledTasks(200, 7);
+        tasks.forEach(queue::add);
+
+        assertEquals(200, queue.size());
+        assertDrainedInOrder(queue, 200);
+    }
+
+    @Test
+    void bulkInsertKeepsHeapOrder() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        queue.addAll(shuffledTasks(10, 1));
+        queue.addAll(shuffledTasks(500, 2));
+        queue.addAll(shuffledTasks(20, 3));
+
+        assertEquals(530, queue.size());
+        assertDrainedInOrder(queue, 530);
+    }
+
+    @Test
+    void pollStopsAtHorizon() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        for (long deadline = 10; deadline <= 100; deadline += 10) queue.add(task(deadline));
+
+        List<ScheduleTask> sink = new ArrayList<>();
+        assertEquals(5, queue.pollDue(50, sink));
+        assertEquals(List.of(10L, 20L, 30L, 40L, 50L), sink.stream().map(ScheduleTask::getDeadline).toList());
+        assertEquals(60, queue.peekDeadline());
+        assertEquals(5, queue.size());
+    }
+
+    @Test
+    void removeFromAnySlotKeepsOrder() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        List<ScheduleTask> tasks = shuffledTasks(100, 11);
+        tasks.forEach(queue::add);
+
+        List<ScheduleTask> removed = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i += 3) {
+            ScheduleTask task = tasks.get(i);
+            assertTrue(queue.remove(task));
+            assertEquals(-1, task.getQueueIndex());
+            removed.add(task);
+        }
+
+        for (ScheduleTask task : removed) assertFalse(queue.remove(task));
+
+        List<ScheduleTask> sink = new ArrayList<>();
+        queue.pollDue(Long.MAX_VALUE, sink);
+        assertEquals(tasks.size() - removed.size(), sink.size());
+        assertSorted(sink);
+        for (ScheduleTask task : removed) assertFalse(sink.contains(task));
+    }
+
+    @Test
+    void removingHeadExposesNextDeadline() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        ScheduleTask first = task(100);
+        queue.add(task(300));
+        queue.add(first);
+        queue.add(task(200));
+
+        assertEquals(100, queue.peekDeadline());
+        assertTrue(queue.remove(first));
+        assertEquals(200, queue.peekDeadline());
+    }
+
+    @Test
+    void ignoresQueuedTaskAndTasksAfterClose() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        ScheduleTask task = task(100);
+        queue.add(task);
+        queue.add(task);
+        queue.addAll(List.of(task));
+        assertEquals(1, queue.size());
+
+        queue.close();
+        assertEquals(0, queue.size());
+        assertEquals(-1, task.getQueueIndex());
+        assertEquals(ScheduleMatcher.NONE, queue.peekDeadline());
+
+        queue.add(task(50));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void retryMovesQueuedTaskForward() {
+        TaskQueue queue = new TaskQueue(CLOCK, Duration.ZERO);
+        ScheduleTask retried = task(500);
+        queue.add(task(200));
+        queue.add(retried);
+
+        retried.scheduleRetry(100);
+        assertFalse(queue.retry(retried));
+        assertEquals(100, queue.peekDeadline());
+
+        List<ScheduleTask> sink = new ArrayList<>();
+        queue.pollDue(100, sink);
+        assertEquals(List.of(retried), sink);
+    }
+
+    private static void assertDrainedInOrder(@NotNull TaskQueue queue, int expected) {
+        List<ScheduleTask> sink = new ArrayList<>();
+        assertEquals(expected, queue.pollDue(Long.MAX_VALUE, sink));
+        assertEquals(0, queue.size());
+        assertSorted(sink);
+    }
+
+    private static void assertSorted(@NotNull List<ScheduleTask> tasks) {
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(tasks.get(i - 1).getDeadline() <= tasks.get(i).getDeadline(), "Out of order at " + i);
+        }
+    }
+
+    private static @NotNull List<ScheduleTask> shuffledTasks(int count, long seed) {
+        List<ScheduleTask> tasks = new ArrayList<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) tasks.add(task(random.nextInt(count / 2 + 1)));
+
+        Collections.shuffle(tasks, random);
+        return tasks;
+    }
+
+    private static @NotNull ScheduleTask task(long deadline) {
+        ScheduleTask task = new ScheduleTask("EVERY 1 HOURS", ScheduleParser.compile("EVERY 1 HOURS"), () -> {}, false, CLOCK);
+        task.setDeadline(deadline);
+        return task;
+    }
+}
\ No newline at end of file
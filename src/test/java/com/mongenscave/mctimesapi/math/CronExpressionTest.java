@@ -0,0 +1,76 @@
+package com.mongenscave.mctimesapi.math;
+
+import com.mongenscave.mctimesapi.exceptions.ScheduleParseException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CronExpressionTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0 */15 9-17 * * MON-FRI",
+            "0 0 3 29 FEB ?",
+            "30 18 * * 5L",
+            "0 12 ? * TUE#3",
+            "*/10 * * * * *",
+            "0 0 L * *",
+            "0 0 1,15 JAN,JUL *"
+    })
+    void reparsedExpressionFiresIdentically(@NotNull String source) {
+        CronExpression cron = CronExpression.parse(source);
+        CronExpression reparsed = CronExpression.parse(cron.getExpression());
+
+        assertEquals(cron.getExpression(), reparsed.getExpression());
+        assertEquals(cron.getExpression(), reparsed.toString());
+
+        long firstTime = local(START);
+        long secondTime = firstTime;
+        for (int i = 0; i < 50; i++) {
+            firstTime = cron.next(firstTime);
+            secondTime = reparsed.next(secondTime);
+            assertEquals(firstTime, secondTime);
+        }
+    }
+
+    @Test
+    void normalizesCaseAndWhitespace() {
+        assertEquals("0 12 ? * TUE#3", CronExpression.parse("  0   12 ?  *   tue#3 ").getExpression());
+    }
+
+    @Test
+    void findsNextMatchingSecond() {
+        assertEquals(local(LocalDateTime.of(2025, 1, 1, 9, 0)), CronExpression.parse("0 */15 9-17 * * MON-FRI").next(local(START)));
+        assertEquals(local(LocalDateTime.of(2028, 2, 29, 3, 0)), CronExpression.parse("0 0 3 29 FEB ?").next(local(START)));
+        assertEquals(local(LocalDateTime.of(2025, 1, 31, 18, 30)), CronExpression.parse("30 18 * * 5L").next(local(START)));
+        assertEquals(local(LocalDateTime.of(2025, 1, 21, 12, 0)), CronExpression.parse("0 12 ? * TUE#3").next(local(START)));
+        assertEquals(local(LocalDateTime.of(2025, 1, 31, 0, 0)), CronExpression.parse("0 0 L * *").next(local(START)));
+    }
+
+    @Test
+    void nextIsStrictlyAfter() {
+        CronExpression cron = CronExpression.parse("0 0 12 * * *");
+        long noon = local(LocalDateTime.of(2025, 1, 1, 12, 0));
+
+        assertEquals(noon, cron.next(noon - 1));
+        assertEquals(noon + CalendarMath.MILLIS_PER_DAY, cron.next(noon));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"* * * *", "0 0 0 0 0 0 0", "60 * * * *", "0 0 30 FEB *", "0 0 * * FOO"})
+    void rejectsInvalidExpressions(@NotNull String source) {
+        assertThrows(ScheduleParseException.class, () -> CronExpression.parse(source));
+    }
+
+    private static long local(@NotNull LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.mongenscave.mctimesapi.math;
+
+import com.mongenscave.mctimesapi.identifiers.DstGapPolicy;
+import com.mongenscave.mctimesapi.identifiers.DstOverlapPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ZoneTimelineTest {
+    private static final ZoneId BUDAPEST = ZoneId.of("Europe/Budapest");
+    private static final LocalDateTime IN_GAP = LocalDateTime.of(2025, 3, 30, 2, 30);
+    private static final LocalDateTime IN_OVERLAP = LocalDateTime.of(2025, 10, 26, 2, 30);
+
+    @Test
+    void skipsTimeInGap() {
+        ZoneTimeline timeline = ZoneTimeline.of(BUDAPEST);
+
+        assertEquals(ScheduleMatcher.NONE, timeline.toEpoch(local(IN_GAP), ScheduleMatcher.NONE, DstGapPolicy.SKIP, DstOverlapPolicy.EARLIER));
+    }
+
+    @Test
+    void shiftsTimeInGapForwardLikeZonedDateTime() {
+        ZoneTimeline timeline = ZoneTimeline.of(BUDAPEST);
+        long shifted = timeline.toEpoch(local(IN_GAP), ScheduleMatcher.NONE, DstGapPolicy.SHIFT_FORWARD, DstOverlapPolicy.EARLIER);
+
+        assertEquals(ZonedDateTime.of(IN_GAP, BUDAPEST).toInstant().toEpochMilli(), shifted);
+        assertEquals(LocalDateTime.of(2025, 3, 30, 3, 30), LocalDateTime.ofInstant(Instant.ofEpochMilli(shifted), BUDAPEST));
+    }
+
+    @Test
+    void resolvesOverlapToRequestedOccurrence() {
+        ZoneTimeline timeline = ZoneTimeline.of(BUDAPEST);
+        long earlier = IN_OVERLAP.toInstant(ZoneOffset.ofHours(2)).toEpochMilli();
+        long later = IN_OVERLAP.toInstant(ZoneOffset.ofHours(1)).toEpochMilli();
+
+        assertEquals(earlier, timeline.toEpoch(local(IN_OVERLAP), ScheduleMatcher.NONE, DstGapPolicy.SKIP, DstOverlapPolicy.EARLIER));
+        assertEquals(later, timeline.toEpoch(local(IN_OVERLAP), ScheduleMatcher.NONE, DstGapPolicy.SKIP, DstOverlapPolicy.LATER));
+    }
+
+    @Test
+    void fallsBackToLaterOccurrenceOnceEarlierHasPassed() {
+        ZoneTimeline timeline = ZoneTimeline.of(BUDAPEST);
+        long earlier = IN_OVERLAP.toInstant(ZoneOffset.ofHours(2)).toEpochMilli();
+        long later = IN_OVERLAP.toInstant(ZoneOffset.ofHours(1)).toEpochMilli();
+
+        assertEquals(later, timeline.toEpoch(local(IN_OVERLAP), earlier, DstGapPolicy.SKIP, DstOverlapPolicy.EARLIER));
+        assertEquals(earlier, timeline.toEpoch(local(IN_OVERLAP), earlier - 1, DstGapPolicy.SKIP, DstOverlapPolicy.EARLIER));
+    }
+
+    @Test
+    void convertsEveryHourOfTheYearBothWays() {
+        ZoneTimeline timeline = ZoneTimeline.of(BUDAPEST);
+        ZonedDateTime time = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, BUDAPEST);
+        ZonedDateTime end = time.plusYears(1);
+
+        for (; time.isBefore(end); time = time.plusMinutes(30)) {
+            long epoch = time.toInstant().toEpochMilli();
+            long local = local(time.toLocalDateTime());
+
+            assertEquals(local, timeline.toLocal(epoch), "toLocal at " + time);
+            if (BUDAPEST.getRules().getValidOffsets(time.toLocalDateTime()).size() == 1) {
+                assertEquals(epoch, timeline.toEpoch(local, ScheduleMatcher.NONE, DstGapPolicy.SKIP, DstOverlapPolicy.EARLIER), "toEpoch at " + time);
+            }
+        }
+    }
+
+    @Test
+    void usesConstantOffsetForFixedZones() {
+        ZoneTimeline timeline = ZoneTimeline.of(ZoneOffset.ofHours(-5));
+        LocalDateTime time = LocalDateTime.of(2025, 3, 30, 2, 30);
+        long epoch = time.toInstant(ZoneOffset.ofHours(-5)).toEpochMilli();
+
+        assertEquals(local(time), timeline.toLocal(epoch));
+        assertEquals(epoch, timeline.toEpoch(local(time), ScheduleMatcher.NONE, DstGapPolicy.SKIP, DstOverlapPolicy.EARLIER));
+    }
+
+    private static long local(@NotNull LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.mongenscave.mctimesapi.models;
+
+import com.mongenscave.mctimesapi.identifiers.OverlapPolicy;
+import com.mongenscave.mctimesapi.utils.ScheduleParser;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleTaskOverlapTest {
+    private static final int CONTENDERS = 16;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void skipDropsRunsWhileOneIsInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduleTask task = task(OverlapPolicy.SKIP, false, blocking(started, release));
+
+        long ticket = task.admit(1);
+        assertNotEquals(ScheduleTask.NOT_ADMITTED, ticket);
+        Future<?> first = executor.submit(() -> task.run(1, ticket));
+        await(started);
+
+        List<Long> tickets = admitConcurrently(task, 2);
+        assertTrue(tickets.stream().allMatch(value -> value == ScheduleTask.NOT_ADMITTED));
+
+        release.countDown();
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(1, task.getExecutionCount());
+        assertEquals(CONTENDERS, task.getMetricsSnapshot().skipped());
+        assertNotEquals(ScheduleTask.NOT_ADMITTED, task.admit(3));
+    }
+
+    @Test
+    void queueOneKeepsExactlyOneFollowUp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduleTask task = task(OverlapPolicy.QUEUE_ONE, false, blocking(started, release));
+
+        long ticket = task.admit(1);
+        Future<?> first = executor.submit(() -> task.run(1, ticket));
+        await(started);
+
+        List<Long> tickets = admitConcurrently(task, 2);
+        assertTrue(tickets.stream().allMatch(value -> value == ScheduleTask.NOT_ADMITTED));
+
+        release.countDown();
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(2, task.getExecutionCount());
+        assertEquals(2, task.getLastDeadline());
+        assertEquals(CONTENDERS - 1, task.getMetricsSnapshot().skipped());
+        assertEquals(0, task.getMetricsSnapshot().overlapped());
+        assertNotEquals(ScheduleTask.NOT_ADMITTED, task.admit(3));
+    }
+
+    @Test
+    void queueOneNeverLosesOrDoublesAFiring() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        ScheduleTask task = task(OverlapPolicy.QUEUE_ONE, false, ignored -> {
+            if (running.incrementAndGet() > 1) overlapped.set(true);
+            Thread.onSpinWait();
+            running.decrementAndGet();
+        });
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = i;
+            futures.add(executor.submit(() -> {
+                long ticket = task.admit(deadline);
+                if (ticket != ScheduleTask.NOT_ADMITTED) task.run(deadline, ticket);
+            }));
+        }
+        for (Future<?> future : futures) future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertFalse(overlapped.get());
+        assertEquals(2_000, task.getExecutionCount() + task.getMetricsSnapshot().skipped());
+        assertNotEquals(ScheduleTask.NOT_ADMITTED, task.admit(2_000));
+    }
+
+    @Test
+    void allowConcurrentRunsSideBySide() throws Exception {
+        CountDownLatch started = new CountDownLatch(CONTENDERS);
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduleTask task = task(OverlapPolicy.ALLOW_CONCURRENT, false, blocking(started, release));
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            long deadline = i;
+            futures.add(executor.submit(() -> task.run(deadline, task.admit(deadline))));
+        }
+
+        await(started);
+        release.countDown();
+        for (Future<?> future : futures) future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(CONTENDERS, task.getExecutionCount());
+        assertEquals(CONTENDERS - 1, task.getMetricsSnapshot().overlapped());
+        assertEquals(0, task.getMetricsSnapshot().skipped());
+    }
+
+    @Test
+    void cancelPreviousInterruptsTheRunningFiring() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        ScheduleTask task = task(OverlapPolicy.CANCEL_PREVIOUS, true, current -> {
+            started.countDown();
+            try {
+                if (current.getLastDeadline() == 1) Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+                completed.incrementAndGet();
+            } catch (InterruptedException exception) {
+                interrupted.incrementAndGet();
+            }
+        });
+
+        long ticket = task.admit(1);
+        Future<?> first = executor.submit(() -> task.run(1, ticket));
+        await(started);
+
+        long next = task.admit(2);
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(1, interrupted.get());
+        assertEquals(0, completed.get());
+
+        executor.submit(() -> task.run(2, next)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(1, completed.get());
+        assertEquals(2, task.getExecutionCount());
+    }
+
+    @Test
+    void cancelPreviousOnlyRunsTheLatestTicket() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        ScheduleTask task = task(OverlapPolicy.CANCEL_PREVIOUS, true, ignored -> executions.incrementAndGet());
+
+        List<Long> tickets = admitConcurrently(task, 1);
+        long latest = tickets.stream().mapToLong(Long::longValue).max().orElseThrow();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (long ticket : tickets) futures.add(executor.submit(() -> task.run(1, ticket)));
+        for (Future<?> future : futures) future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(CONTENDERS, latest);
+        assertEquals(1, executions.get());
+        assertEquals(CONTENDERS - 1, task.getMetricsSnapshot().skipped());
+    }
+
+    @Test
+    void cancelPreviousDoesNotLeakInterruptIntoTheWorker() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean stop = new AtomicBoolean();
+        ScheduleTask task = task(OverlapPolicy.CANCEL_PREVIOUS, true, ignored -> {
+            started.countDown();
+            while (!stop.get()) Thread.onSpinWait();
+        });
+
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            long ticket = task.admit(1);
+            worker.submit(() -> task.run(1, ticket));
+            await(started);
+
+            task.admit(2);
+            stop.set(true);
+
+            assertFalse(worker.submit(() -> Thread.currentThread().isInterrupted()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    private @NotNull List<Long> admitConcurrently(@NotNull ScheduleTask task, long deadline) throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            futures.add(executor.submit(() -> {
+                gate.await();
+                return task.admit(deadline);
+            }));
+        }
+
+        gate.countDown();
+        List<Long> tickets = new ArrayList<>();
+        for (Future<Long> future : futures) tickets.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return tickets;
+    }
+
+    private static @NotNull Consumer<ScheduleTask> blocking(@NotNull CountDownLatch started, @NotNull CountDownLatch release) {
+        return ignored -> {
+            started.countDown();
+            try {
+                await(release);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static void await(@NotNull CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Timed out waiting for the task");
+    }
+
+    private static @NotNull ScheduleTask task(@NotNull OverlapPolicy policy, boolean async, @NotNull Consumer<ScheduleTask> action) {
+        ScheduleRequest request = ScheduleRequest.builder()
+                .scheduleString("EVERY 1 SECONDS")
+                .callback(action)
+                .async(async)
+                .overlapPolicy(policy)
+                .build();
+
+        return new ScheduleTask(request, ScheduleParser.compile("EVERY 1 SECONDS"), Clock.systemUTC());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.mongenscave.mctimesapi.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedLogScheduleStoreTest {
+    @TempDir Path directory;
+
+    @Test
+    void replaysSavedAndRemovedStates() {
+        Path file = directory.resolve("schedules.log");
+
+        MappedLogScheduleStore store = new MappedLogScheduleStore(file);
+        store.save(state("daily", 1));
+        store.save(state("hourly", 1));
+        store.save(state("daily", 2));
+        store.remove("hourly");
+        store.close();
+
+        MappedLogScheduleStore reopened = new MappedLogScheduleStore(file);
+        assertEquals(Map.of("daily", state("daily", 2)), reopened.load());
+        reopened.close();
+    }
+
+    @Test
+    void dropsRecordWithBadChecksum() throws IOException {
+        Path file = directory.resolve("schedules.log");
+        long intact = writeThenTear(file);
+
+        corrupt(file, intact + 12);
+        assertRecoveredAt(file, intact);
+    }
+
+    @Test
+    void dropsRecordWhoseLengthWasNeverWritten() throws IOException {
+        Path file = directory.resolve("schedules.log");
+        long intact = writeThenTear(file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(intact);
+            raw.writeInt(0);
+        }
+
+        assertRecoveredAt(file, intact);
+    }
+
+    @Test
+    void dropsRecordRunningPastEndOfFile() throws IOException {
+        Path file = directory.resolve("schedules.log");
+        long intact = writeThenTear(file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(intact);
+            raw.writeInt(Integer.MAX_VALUE - 16);
+        }
+
+        assertRecoveredAt(file, intact);
+    }
+
+    @Test
+    void survivesCompaction() {
+        Path file = directory.resolve("schedules.log");
+
+        MappedLogScheduleStore store = new MappedLogScheduleStore(file);
+        for (int i = 0; i < 100; i++) store.save(state("task", i));
+        store.save(state("other", 7));
+
+        long before = store.getLogSize();
+        store.compact();
+        assertEquals(1, store.getCompactions());
+        assertEquals(2, store.size());
+        assertTrue(store.getLogSize() < before);
+
+        store.save(state("task", 100));
+        store.close();
+
+        MappedLogScheduleStore reopened = new MappedLogScheduleStore(file);
+        assertEquals(Map.of("task", state("task", 100), "other", state("other", 7)), reopened.load());
+        reopened.close();
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        Path file = directory.resolve("foreign.log");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(UncheckedIOException.class, () -> new MappedLogScheduleStore(file));
+    }
+
+    /**
+     * Saves two intact states and a third one that the test then tears
+     *
+     * @return The offset of the torn record
+     */
+    private static long writeThenTear(@NotNull Path file) {
+        MappedLogScheduleStore store = new MappedLogScheduleStore(file);
+        store.save(state("first", 1));
+        store.save(state("second", 1));
+        long intact = store.getLogSize();
+        store.save(state("third", 1));
+        store.close();
+
+        return intact;
+    }
+
+    private static void assertRecoveredAt(@NotNull Path file, long intact) {
+        MappedLogScheduleStore store = new MappedLogScheduleStore(file);
+        assertEquals(Map.of("first", state("first", 1), "second", state("second", 1)), store.load());
+        assertEquals(intact, store.getLogSize());
+
+        store.save(state("fourth", 1));
+        store.close();
+
+        MappedLogScheduleStore reopened = new MappedLogScheduleStore(file);
+        assertEquals(Map.of("first", state("first", 1), "second", state("second", 1), "fourth", state("fourth", 1)), reopened.load());
+        reopened.close();
+    }
+
+    private static void corrupt(@NotNull Path file, long position) throws IOException {
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(position);
+            int value = raw.read();
+            raw.seek(position);
+            raw.write(value ^ 0xFF);
+        }
+    }
+
+    private static @NotNull TaskState state(@NotNull String key, long executions) {
+        return new TaskState(key, "EVERYDAY @ 12:00", 1_000 * executions, 2_000 * executions, executions, false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.mongenscave.mctimesapi.utils;
+
+import com.mongenscave.mctimesapi.exceptions.ScheduleParseException;
+import com.mongenscave.mctimesapi.identifiers.ScheduleType;
+import com.mongenscave.mctimesapi.math.ScheduleMatcher;
+import com.mongenscave.mctimesapi.models.ScheduleConfig;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScheduleParserTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "EVERYDAY @ 18:00",
+            "WEEKDAYS @ 09:00",
+            "WEEKENDS @ 10:00",
+            "EVERY MON,WED,FRI @ 14:30",
+            "EVERY 15TH @ 12:00",
+            "EVERY LAST DAY @ 23:59",
+            "EVERY 1ST MON @ 10:00",
+            "EVERY LAST FRI @ 17:00",
+            "EVERY 2ND TUE @ 19:00",
+            "BETWEEN 09:00-17:00 EVERY HOUR",
+            "CRON 0 */15 9-17 * * MON-FRI",
+            "EVERYDAY @ 09:00 OR EVERYDAY @ 21:00",
+            "CRON 0 0 9 * * * EXCEPT WEEKENDS, 2025-12-31",
+            "EVERY FRI @ 20:00 TZ America/New_York"
+    })
+    void compiledScheduleMatchesFreshParse(@NotNull String schedule) {
+        ScheduleMatcher cached = ScheduleParser.compile(schedule);
+        ScheduleMatcher fresh = ScheduleMatcher.compile(ScheduleParser.parseUncached(schedule));
+
+        assertEquals(fresh.getType(), cached.getType());
+        assertEquals(fresh.getZone(), cached.getZone());
+
+        long cachedTime = local(START);
+        long freshTime = cachedTime;
+        for (int i = 0; i < 30; i++) {
+            cachedTime = cached.next(cachedTime, cachedTime);
+            freshTime = fresh.next(freshTime, freshTime);
+            assertEquals(freshTime, cachedTime, schedule + " firing " + i);
+        }
+    }
+
+    @Test
+    void equivalentSpellingsShareOneMatcher() {
+        ScheduleMatcher matcher = ScheduleParser.compile("EVERY MON,WED @ 08:30");
+
+        assertSame(matcher, ScheduleParser.compile("EVERY MON,WED @ 08:30"));
+        assertSame(matcher, ScheduleParser.compile("every mon, wed @ 08:30"));
+        assertSame(matcher, ScheduleParser.compile("  EVERY   MON ,WED  @  08:30 "));
+        assertSame(matcher.getConfig(), ScheduleParser.parse("Every Mon,Wed @ 08:30"));
+    }
+
+    @Test
+    void parsesDailyAndWeeklyTimes() {
+        ScheduleConfig daily = ScheduleParser.parse("EVERYDAY @ 18:00");
+        assertEquals(ScheduleType.DAILY, daily.getType());
+        assertEquals(LocalTime.of(18, 0), daily.getTime());
+
+        ScheduleConfig weekly = ScheduleParser.parse("EVERY MON,WED,FRI @ 09:30");
+        assertEquals(ScheduleType.WEEKLY, weekly.getType());
+        assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), weekly.getDaysOfWeek());
+        assertEquals(LocalTime.of(9, 30), weekly.getTime());
+    }
+
+    @Test
+    void parsesIntervalsAndZones() {
+        assertEquals(Duration.ofMinutes(30), ScheduleParser.parse("EVERY 30 MINUTES").getIntervalDuration());
+        assertEquals(Duration.ofMillis(1_000), ScheduleParser.parse("EVERY 20 TICKS").getIntervalDuration());
+        assertEquals(ZoneId.of("Europe/Budapest"), ScheduleParser.parse("EVERYDAY @ 18:00 TZ Europe/Budapest").getZone());
+    }
+
+    @Test
+    void cronScheduleKeepsItsExpression() {
+        ScheduleConfig config = ScheduleParser.parse("CRON 30 18 * * 5l");
+
+        assertEquals(ScheduleType.CRON, config.getType());
+        assertEquals("30 18 * * 5L", config.getCron().getExpression());
+        assertSame(ScheduleParser.compile("CRON 30 18 * * 5l"), ScheduleParser.compile("CRON " + config.getCron().getExpression()));
+    }
+
+    @Test
+    void findsNextFiring() {
+        assertEquals(local(LocalDateTime.of(2025, 1, 1, 18, 0)), ScheduleParser.compile("EVERYDAY @ 18:00").next(local(START), ScheduleMatcher.NONE));
+        assertEquals(local(LocalDateTime.of(2025, 1, 14, 19, 0)), ScheduleParser.compile("EVERY 2ND TUE @ 19:00").next(local(START), ScheduleMatcher.NONE));
+        assertEquals(local(LocalDateTime.of(2025, 1, 31, 17, 0)), ScheduleParser.compile("EVERY LAST FRI @ 17:00").next(local(START), ScheduleMatcher.NONE));
+        assertEquals(local(LocalDateTime.of(2025, 1, 3, 9, 30)), ScheduleParser.compile("EVERY MON,WED,FRI @ 09:30").next(local(LocalDateTime.of(2025, 1, 1, 10, 0)), ScheduleMatcher.NONE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "SOMETIMES", "EVERYDAY @ 25:00", "EVERY 5 PARSECS", "EVERYDAY @ 18:00 TRAILING", "EVERY 5 MINUTES OR EVERYDAY @ 10:00"})
+    void rejectsMalformedSchedules(@NotNull String schedule) {
+        assertThrows(ScheduleParseException.class, () -> ScheduleParser.compile(schedule));
+    }
+
+    private static long local(@NotNull LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
\ No newline at end of file